@@ -0,0 +1,392 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+/**
+ * Immutable, column-oriented employee list. Salaries and ages are {@code int[]} columns, titles are dictionary
+ * encoded, canonical UUID ids are split over two {@code long[]} columns, and names, emails and any non-UUID ids are
+ * packed as UTF-8 into a single byte arena, with a bit per row and field telling a null from an empty string.
+ * {@link #get} materialises a fresh {@link EmployeeResponse} on every call,
+ * so views only exist while a response is being written.
+ *
+ * <p>Mutations return a new list in O(n), sharing the title dictionary where possible.
+ */
+final class ColumnarEmployees extends AbstractList<EmployeeResponse> implements RandomAccess {
+
+    // Per row, the arena holds the name, the email and, for ids that are not canonical UUIDs, the id.
+    private static final int FIELDS = 3;
+    private static final int NAME = 0;
+    private static final int EMAIL = 1;
+    private static final int RAW_ID = 2;
+    private static final int NO_TITLE = -1;
+
+    private final int size;
+    private final long[] idMostBits;
+    private final long[] idLeastBits;
+    private final int[] salaries;
+    private final int[] ages;
+    private final int[] titleCodes;
+    private final String[] titles;
+    private final byte[] arena;
+    // Start of each row's fields in the arena; a field ends where the next one starts.
+    private final int[] offsets;
+    // Per row, bit 1 << field is set when that arena field is not null; a raw id is present only for non-UUID ids.
+    private final byte[] presentFields;
+    // Maps an id's hash slot to its position + 1. Built on the first lookup by id.
+    private volatile int[] idTable;
+
+    private ColumnarEmployees(
+            int size,
+            long[] idMostBits,
+            long[] idLeastBits,
+            int[] salaries,
+            int[] ages,
+            int[] titleCodes,
+            String[] titles,
+            byte[] arena,
+            int[] offsets,
+            byte[] presentFields) {
+        this.size = size;
+        this.idMostBits = idMostBits;
+        this.idLeastBits = idLeastBits;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.titleCodes = titleCodes;
+        this.titles = titles;
+        this.arena = arena;
+        this.offsets = offsets;
+        this.presentFields = presentFields;
+    }
+
+    static ColumnarEmployees copyOf(Iterable<EmployeeResponse> employees) {
+        Builder builder = new Builder();
+        employees.forEach(builder::add);
+        return builder.build();
+    }
+
+    @Override
+    public EmployeeResponse get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return new EmployeeResponse(
+                idAt(index), string(index, NAME), salaries[index], ages[index], titleAt(index), string(index, EMAIL));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    int salaryAt(int index) {
+        return salaries[index];
+    }
+
+    int ageAt(int index) {
+        return ages[index];
+    }
+
+    String titleAt(int index) {
+        return titleCodes[index] == NO_TITLE ? null : titles[titleCodes[index]];
+    }
+
+    String nameAt(int index) {
+        return string(index, NAME);
+    }
+
+    /**
+     * Returns the position of the employee with the given id, or -1.
+     */
+    int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        int[] table = idTable();
+        int mask = table.length - 1;
+        UUID uuid = canonicalUuid(id);
+        for (int slot = spread(uuid == null ? id.hashCode() : uuid.hashCode()) & mask;
+                table[slot] != 0;
+                slot = (slot + 1) & mask) {
+            int position = table[slot] - 1;
+            if (uuid != null
+                    ? !hasRawId(position)
+                            && idMostBits[position] == uuid.getMostSignificantBits()
+                            && idLeastBits[position] == uuid.getLeastSignificantBits()
+                    : hasRawId(position) && id.equals(string(position, RAW_ID))) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    ColumnarEmployees withAppended(EmployeeResponse employee) {
+        Builder builder = new Builder(this, size + 1);
+        builder.add(employee);
+        return builder.build();
+    }
+
+    ColumnarEmployees withAppended(List<EmployeeResponse> employees) {
+        Builder builder = new Builder(this, size + employees.size());
+        employees.forEach(builder::add);
+        return builder.build();
+    }
+
+    ColumnarEmployees withRemoved(int index) {
+        return withRemoved(new int[] {index});
+    }
+
+    /**
+     * Returns a copy without the rows at {@code indexes}, which must be ascending and distinct, in one O(n) pass.
+     */
+    ColumnarEmployees withRemoved(int[] indexes) {
+        int newSize = size - indexes.length;
+        int removedBytes = 0;
+        for (int index : indexes) {
+            removedBytes += offsets[(index + 1) * FIELDS] - offsets[index * FIELDS];
+        }
+        long[] newIdMostBits = new long[newSize];
+        long[] newIdLeastBits = new long[newSize];
+        int[] newSalaries = new int[newSize];
+        int[] newAges = new int[newSize];
+        int[] newTitleCodes = new int[newSize];
+        byte[] newArena = new byte[arena.length - removedBytes];
+        int[] newOffsets = new int[newSize * FIELDS + 1];
+        byte[] newPresentFields = new byte[newSize];
+        int target = 0;
+        int shift = 0;
+        int next = 0;
+        // Copies each run of kept rows between two removed ones at once.
+        for (int runStart = 0; runStart < size; ) {
+            int runEnd = next < indexes.length ? indexes[next] : size;
+            int length = runEnd - runStart;
+            if (length > 0) {
+                System.arraycopy(idMostBits, runStart, newIdMostBits, target, length);
+                System.arraycopy(idLeastBits, runStart, newIdLeastBits, target, length);
+                System.arraycopy(salaries, runStart, newSalaries, target, length);
+                System.arraycopy(ages, runStart, newAges, target, length);
+                System.arraycopy(titleCodes, runStart, newTitleCodes, target, length);
+                System.arraycopy(presentFields, runStart, newPresentFields, target, length);
+                int bytesStart = offsets[runStart * FIELDS];
+                System.arraycopy(
+                        arena, bytesStart, newArena, bytesStart - shift, offsets[runEnd * FIELDS] - bytesStart);
+                for (int i = 0; i < length * FIELDS; i++) {
+                    newOffsets[target * FIELDS + i] = offsets[runStart * FIELDS + i] - shift;
+                }
+                target += length;
+            }
+            if (runEnd < size) {
+                shift += offsets[(runEnd + 1) * FIELDS] - offsets[runEnd * FIELDS];
+                next++;
+            }
+            runStart = runEnd + 1;
+        }
+        newOffsets[newSize * FIELDS] = newArena.length;
+        return new ColumnarEmployees(
+                newSize,
+                newIdMostBits,
+                newIdLeastBits,
+                newSalaries,
+                newAges,
+                newTitleCodes,
+                titles,
+                newArena,
+                newOffsets,
+                newPresentFields);
+    }
+
+    private String idAt(int index) {
+        return hasRawId(index) ? string(index, RAW_ID) : new UUID(idMostBits[index], idLeastBits[index]).toString();
+    }
+
+    private boolean hasRawId(int index) {
+        return isPresent(index, RAW_ID);
+    }
+
+    private boolean isPresent(int index, int field) {
+        return (presentFields[index] & (1 << field)) != 0;
+    }
+
+    private String string(int index, int field) {
+        if (!isPresent(index, field)) {
+            return null;
+        }
+        int start = offsets[index * FIELDS + field];
+        return new String(arena, start, offsets[index * FIELDS + field + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    private int[] idTable() {
+        int[] table = idTable;
+        if (table == null) {
+            synchronized (this) {
+                table = idTable;
+                if (table == null) {
+                    table = new int[Math.max(16, Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1)];
+                    int mask = table.length - 1;
+                    for (int position = 0; position < size; position++) {
+                        int hash = hasRawId(position)
+                                ? string(position, RAW_ID).hashCode()
+                                : Long.hashCode(idMostBits[position] ^ idLeastBits[position]);
+                        int slot = spread(hash) & mask;
+                        while (table[slot] != 0) {
+                            slot = (slot + 1) & mask;
+                        }
+                        table[slot] = position + 1;
+                    }
+                    idTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /*
+     * Returns the id as a UUID if storing it as two longs loses nothing, i.e. it is in canonical lower-case form.
+     */
+    private static UUID canonicalUuid(String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static final class Builder {
+        private int size;
+        private long[] idMostBits;
+        private long[] idLeastBits;
+        private int[] salaries;
+        private int[] ages;
+        private int[] titleCodes;
+        // Shared with the list the builder started from until a new title is added.
+        private String[] titles;
+        private int titleCount;
+        private final Map<String, Integer> titleCodesByTitle = new HashMap<>();
+        private byte[] arena;
+        private int arenaSize;
+        private int[] offsets;
+        private byte[] presentFields;
+
+        Builder() {
+            this.idMostBits = new long[16];
+            this.idLeastBits = new long[16];
+            this.salaries = new int[16];
+            this.ages = new int[16];
+            this.titleCodes = new int[16];
+            this.titles = new String[0];
+            this.arena = new byte[1024];
+            this.offsets = new int[16 * FIELDS + 1];
+            this.presentFields = new byte[16];
+        }
+
+        // Starts from the rows of an existing list, with room for the given number of rows.
+        private Builder(ColumnarEmployees base, int capacity) {
+            this.size = base.size;
+            this.idMostBits = Arrays.copyOf(base.idMostBits, capacity);
+            this.idLeastBits = Arrays.copyOf(base.idLeastBits, capacity);
+            this.salaries = Arrays.copyOf(base.salaries, capacity);
+            this.ages = Arrays.copyOf(base.ages, capacity);
+            this.titleCodes = Arrays.copyOf(base.titleCodes, capacity);
+            this.titles = base.titles;
+            this.titleCount = titles.length;
+            for (int code = 0; code < titleCount; code++) {
+                titleCodesByTitle.put(titles[code], code);
+            }
+            this.arena = Arrays.copyOf(base.arena, base.arena.length + 256);
+            this.arenaSize = base.arena.length;
+            this.offsets = Arrays.copyOf(base.offsets, capacity * FIELDS + 1);
+            this.presentFields = Arrays.copyOf(base.presentFields, capacity);
+        }
+
+        Builder add(EmployeeResponse employee) {
+            if (size == salaries.length) {
+                int capacity = size * 2;
+                idMostBits = Arrays.copyOf(idMostBits, capacity);
+                idLeastBits = Arrays.copyOf(idLeastBits, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                titleCodes = Arrays.copyOf(titleCodes, capacity);
+                offsets = Arrays.copyOf(offsets, capacity * FIELDS + 1);
+                presentFields = Arrays.copyOf(presentFields, capacity);
+            }
+            String id = employee.getId();
+            if (id == null) {
+                throw new IllegalArgumentException("Employee id is required: " + employee);
+            }
+            int row = size++;
+            UUID uuid = canonicalUuid(id);
+            if (uuid != null) {
+                idMostBits[row] = uuid.getMostSignificantBits();
+                idLeastBits[row] = uuid.getLeastSignificantBits();
+            }
+            salaries[row] = employee.getEmployeeSalary();
+            ages[row] = employee.getEmployeeAge();
+            titleCodes[row] = titleCode(employee.getEmployeeTitle());
+            appendField(row, NAME, employee.getEmployeeName());
+            appendField(row, EMAIL, employee.getEmployeeEmail());
+            appendField(row, RAW_ID, uuid == null ? id : null);
+            offsets[row * FIELDS + FIELDS] = arenaSize;
+            return this;
+        }
+
+        ColumnarEmployees build() {
+            return new ColumnarEmployees(
+                    size,
+                    Arrays.copyOf(idMostBits, size),
+                    Arrays.copyOf(idLeastBits, size),
+                    Arrays.copyOf(salaries, size),
+                    Arrays.copyOf(ages, size),
+                    Arrays.copyOf(titleCodes, size),
+                    titleCount == titles.length ? titles : Arrays.copyOf(titles, titleCount),
+                    Arrays.copyOf(arena, arenaSize),
+                    Arrays.copyOf(offsets, size * FIELDS + 1),
+                    Arrays.copyOf(presentFields, size));
+        }
+
+        private int titleCode(String title) {
+            if (title == null) {
+                return NO_TITLE;
+            }
+            Integer code = titleCodesByTitle.get(title);
+            if (code == null) {
+                code = titleCount++;
+                if (code == titles.length) {
+                    // Always a new array, so a dictionary shared with an existing list is never written to.
+                    titles = Arrays.copyOf(titles, Math.max(16, code * 2));
+                }
+                titles[code] = title;
+                titleCodesByTitle.put(title, code);
+            }
+            return code;
+        }
+
+        private void appendField(int row, int field, String value) {
+            offsets[row * FIELDS + field] = arenaSize;
+            if (value == null) {
+                return;
+            }
+            presentFields[row] |= (byte) (1 << field);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (arenaSize + bytes.length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + bytes.length));
+            }
+            System.arraycopy(bytes, 0, arena, arenaSize, bytes.length);
+            arenaSize += bytes.length;
+        }
+    }
+}
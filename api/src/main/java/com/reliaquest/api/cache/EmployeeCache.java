@@ -0,0 +1,389 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.client.ChangeCursor;
+import com.reliaquest.api.client.ConditionalFetch;
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the upstream employee list as an immutable {@link EmployeeSnapshot}.
+ *
+ * <p>Concurrent misses share a single upstream fetch, the snapshot is refreshed in the background, and while the
+ * upstream is rate limiting us the last good snapshot keeps being served. Local creates and deletes are written
+ * through with {@link #applyCreated} and {@link #applyDeleted} instead of forcing a reload.
+ *
+ * <p>Reloads are conditional on the ETag of the last downloaded list; when the upstream answers 304 the current
+ * snapshot, version included, is kept and only its load time is renewed. Once a list carrying a change feed position
+ * has been loaded, later reloads instead fetch only the creates and deletes made upstream since and apply them to the
+ * snapshot, falling back to a full reload when the upstream no longer has them.
+ */
+@Component
+public class EmployeeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeCache.class);
+
+    private final ApiClient apiClient;
+    private final long ttlMillis;
+    private final long backoffMillis;
+    private final boolean columnar;
+    private final boolean deltaSync;
+
+    private final AtomicReference<CompletableFuture<EmployeeSnapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile EmployeeSnapshot snapshot;
+    private volatile long backoffUntilMillis;
+
+    private final Object writeLock = new Object();
+    // Writes made while a load is in flight, replayed onto the loaded list. Guarded by writeLock.
+    private List<Mutation> pendingMutations;
+    // ETag of the upstream list the snapshot was loaded from. Guarded by writeLock.
+    private String upstreamETag;
+    // Upstream change feed position the snapshot reflects, or null if unknown. Guarded by writeLock.
+    private ChangeCursor changeCursor;
+    private Clock clock = Clock.systemUTC();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleHits;
+    private final Counter modified;
+    private final Counter notModified;
+    private final Counter deltas;
+    private final Counter deltasExpired;
+    private final Counter changesApplied;
+    private final Counter loadsCollapsed;
+
+    public EmployeeCache(
+            ApiClient apiClient,
+            MeterRegistry meterRegistry,
+            @Value("${api.cache.ttl-ms:60000}") long ttlMillis,
+            @Value("${api.cache.backoff-ms:30000}") long backoffMillis,
+            @Value("${api.cache.columnar:false}") boolean columnar,
+            @Value("${api.cache.delta-sync:true}") boolean deltaSync) {
+        this.apiClient = apiClient;
+        this.ttlMillis = ttlMillis;
+        this.backoffMillis = backoffMillis;
+        this.columnar = columnar;
+        this.deltaSync = deltaSync;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.modified = revalidations(meterRegistry, "modified");
+        this.notModified = revalidations(meterRegistry, "not_modified");
+        this.deltas = revalidations(meterRegistry, "delta");
+        this.deltasExpired = revalidations(meterRegistry, "delta_expired");
+        this.changesApplied = Counter.builder("employee.cache.delta.changes")
+                .description("Upstream creates and deletes applied to the snapshot by delta reloads")
+                .register(meterRegistry);
+        this.loadsCollapsed = SingleFlight.collapsedCounter(meterRegistry, "getAllEmployees");
+        Gauge.builder("employee.cache.age", this, cache -> cache.getAgeMillis() / 1000.0)
+                .description("Age of the cached employee snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("employee.cache.size", this, cache -> {
+                    EmployeeSnapshot current = cache.snapshot;
+                    return current == null ? 0 : current.size();
+                })
+                .description("Number of employees in the cached snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a snapshot no older than the configured TTL, loading it from the upstream if necessary. During a rate
+     * limit backoff window the last loaded snapshot is returned regardless of its age.
+     */
+    public EmployeeSnapshot getSnapshot() {
+        EmployeeSnapshot current = snapshot;
+        if (current != null) {
+            if (isFresh(current)) {
+                hits.increment();
+                return current;
+            }
+            if (isBackingOff()) {
+                staleHits.increment();
+                return current;
+            }
+        }
+        misses.increment();
+        try {
+            return load();
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            backoffUntilMillis = clock.millis() + backoffMillis;
+            if (current == null) {
+                throw e;
+            }
+            logger.warn(
+                    "Upstream is rate limiting or unavailable, serving snapshot {} for {} ms.",
+                    current.getVersion(),
+                    backoffMillis);
+            staleHits.increment();
+            return current;
+        }
+    }
+
+    public List<EmployeeResponse> getEmployees() {
+        return getSnapshot().getEmployees();
+    }
+
+    /**
+     * Looks the employee up in the current snapshot, whatever its age, without ever loading from the upstream.
+     */
+    public Optional<EmployeeResponse> findCached(String id) {
+        EmployeeSnapshot current = snapshot;
+        return current == null ? Optional.empty() : current.findById(id);
+    }
+
+    /**
+     * Like {@link EmployeeSnapshot#findFirstByName}, on the current snapshot whatever its age, without ever loading
+     * from the upstream.
+     */
+    public Optional<EmployeeResponse> findFirstCachedByName(String name) {
+        EmployeeSnapshot current = snapshot;
+        return current == null ? Optional.empty() : current.findFirstByName(name);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${api.cache.refresh-interval-ms:30000}",
+            initialDelayString = "${api.cache.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (isBackingOff()) {
+            logger.debug("Skipping employee cache refresh during rate limit backoff.");
+            return;
+        }
+        try {
+            EmployeeSnapshot loaded = load();
+            logger.debug("Refreshed employee cache to version {} ({} employees).", loaded.getVersion(), loaded.size());
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            backoffUntilMillis = clock.millis() + backoffMillis;
+            logger.warn("Employee cache refresh rate limited or unavailable, backing off for {} ms.", backoffMillis);
+        } catch (ApiException e) {
+            logger.warn("Employee cache refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Appends an employee the upstream has just created to the cached snapshot.
+     */
+    public void applyCreated(EmployeeResponse employee) {
+        apply(new Mutation(employee, null));
+    }
+
+    /**
+     * Appends several employees the upstream has just created to the cached snapshot as one new version.
+     */
+    public void applyCreated(List<EmployeeResponse> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (pendingMutations != null) {
+                employees.forEach(employee -> pendingMutations.add(new Mutation(employee, null)));
+            }
+            EmployeeSnapshot current = snapshot;
+            if (current != null) {
+                snapshot = current.withEmployees(employees, versions.incrementAndGet());
+            }
+        }
+    }
+
+    /**
+     * Removes an employee the upstream has just deleted from the cached snapshot.
+     */
+    public void applyDeleted(String id) {
+        apply(new Mutation(null, id));
+    }
+
+    /**
+     * Returns the version of the snapshot {@link #getSnapshot} would serve right now without loading, or empty if it
+     * would have to load first.
+     */
+    public OptionalLong getServableVersion() {
+        EmployeeSnapshot current = snapshot;
+        return current != null && (isFresh(current) || isBackingOff())
+                ? OptionalLong.of(current.getVersion())
+                : OptionalLong.empty();
+    }
+
+    public long getAgeMillis() {
+        EmployeeSnapshot current = snapshot;
+        return current == null ? 0 : clock.millis() - current.getLoadedAtMillis();
+    }
+
+    private EmployeeSnapshot load() {
+        CompletableFuture<EmployeeSnapshot> future = new CompletableFuture<>();
+        CompletableFuture<EmployeeSnapshot> existing = inFlight.compareAndExchange(null, future);
+        if (existing != null) {
+            loadsCollapsed.increment();
+            return await(existing);
+        }
+        String ifNoneMatch;
+        ChangeCursor cursor;
+        synchronized (writeLock) {
+            pendingMutations = new ArrayList<>();
+            ifNoneMatch = snapshot == null ? null : upstreamETag;
+            cursor = snapshot == null || !deltaSync ? null : changeCursor;
+        }
+        try {
+            EmployeeSnapshot loaded = cursor == null ? null : loadChanges(cursor);
+            if (loaded == null) {
+                loaded = loadAll(ifNoneMatch);
+            }
+            future.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (writeLock) {
+                pendingMutations = null;
+            }
+            inFlight.set(null);
+        }
+    }
+
+    /*
+     * Applies the upstream changes since cursor to the current snapshot, which already holds every local write. The
+     * new snapshot is built outside writeLock, so a large delta does not hold up local writes; the writes made
+     * meanwhile are replayed onto it when it is swapped in, as are those the feed may predate. Returns null if the
+     * feed no longer reaches back to cursor.
+     */
+    private EmployeeSnapshot loadChanges(ChangeCursor cursor) {
+        Optional<EmployeeChanges> fetched = apiClient.getChangesSince(cursor);
+        if (fetched.isEmpty()) {
+            deltasExpired.increment();
+            return null;
+        }
+        EmployeeChanges changes = fetched.get();
+        EmployeeSnapshot base = snapshot;
+        EmployeeSnapshot changed = base.withChanges(changes.getChanges(), versions.incrementAndGet());
+        EmployeeSnapshot loaded;
+        synchronized (writeLock) {
+            // Unchanged, the current snapshot is kept as is, local writes since base included.
+            loaded = (changed == base ? snapshot : replay(changed)).withLoadedAtMillis(clock.millis());
+            changeCursor = new ChangeCursor(cursor.epoch(), changes.getLatest());
+            snapshot = loaded;
+        }
+        deltas.increment();
+        changesApplied.increment(changes.getChanges().size());
+        logger.debug(
+                "Applied {} upstream changes since {}, now at sequence {}.",
+                changes.getChanges().size(),
+                cursor.sequence(),
+                changes.getLatest());
+        return loaded;
+    }
+
+    private EmployeeSnapshot loadAll(String ifNoneMatch) {
+        // Columnar lists are decoded straight into columns, so the row objects never exist all at once.
+        ColumnarEmployees.Builder columns = columnar ? new ColumnarEmployees.Builder() : null;
+        List<EmployeeResponse> rows = columnar ? null : new ArrayList<>();
+        ConditionalFetch fetch = apiClient.streamAllEmployees(ifNoneMatch, columnar ? columns::add : rows::add);
+        EmployeeSnapshot loaded;
+        synchronized (writeLock) {
+            if (!fetch.modified()) {
+                // The current snapshot already includes every write made since the matching download.
+                loaded = snapshot.withLoadedAtMillis(clock.millis());
+            } else {
+                List<EmployeeResponse> fetched = columnar ? columns.build() : rows;
+                loaded = replay(EmployeeSnapshot.of(fetched, versions.incrementAndGet(), clock.millis()));
+                upstreamETag = fetch.etag();
+                changeCursor = ChangeCursor.fromETag(fetch.etag());
+            }
+            snapshot = loaded;
+        }
+        if (ifNoneMatch != null) {
+            (fetch.modified() ? modified : notModified).increment();
+        }
+        return loaded;
+    }
+
+    private void apply(Mutation mutation) {
+        synchronized (writeLock) {
+            if (pendingMutations != null) {
+                pendingMutations.add(mutation);
+            }
+            EmployeeSnapshot current = snapshot;
+            if (current != null) {
+                snapshot = mutation.applyTo(current, versions.incrementAndGet());
+            }
+        }
+    }
+
+    /*
+     * The upstream response may or may not already reflect writes made while it was in flight, so replaying them has
+     * to be idempotent.
+     */
+    private EmployeeSnapshot replay(EmployeeSnapshot loaded) {
+        EmployeeSnapshot replayed = loaded;
+        for (Mutation mutation : pendingMutations) {
+            if (mutation.created() == null
+                    || replayed.findById(mutation.created().getId()).isEmpty()) {
+                replayed = mutation.applyTo(replayed, loaded.getVersion());
+            }
+        }
+        return replayed;
+    }
+
+    private static EmployeeSnapshot await(CompletableFuture<EmployeeSnapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ApiException("Failed to load employees: " + e.getMessage());
+        }
+    }
+
+    private boolean isFresh(EmployeeSnapshot current) {
+        return clock.millis() - current.getLoadedAtMillis() < ttlMillis;
+    }
+
+    private boolean isBackingOff() {
+        return clock.millis() < backoffUntilMillis;
+    }
+
+    private static Counter revalidations(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.cache.revalidations")
+                .description("Conditional reloads of the employee snapshot by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.cache.requests")
+                .description("Employee cache lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Mutation(EmployeeResponse created, String deletedId) {
+
+        EmployeeSnapshot applyTo(EmployeeSnapshot current, long newVersion) {
+            return created != null
+                    ? current.withEmployee(created, newVersion)
+                    : current.withoutEmployee(deletedId, newVersion);
+        }
+    }
+}
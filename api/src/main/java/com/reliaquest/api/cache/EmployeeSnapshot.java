@@ -0,0 +1,393 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.AgeBucket;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SalaryStats;
+import com.reliaquest.api.model.TitleStats;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * Immutable, point-in-time copy of the upstream employee list. Mutations produce a new snapshot with a higher version,
+ * so readers holding a snapshot never observe a partially applied change.
+ */
+public final class EmployeeSnapshot {
+
+    private final List<EmployeeResponse> employees;
+    private final SalaryIndex salaryIndex;
+    private final EmployeeStats stats;
+    private final long version;
+    private final long loadedAtMillis;
+    // Built on the first name search, so bursts of writes without searches don't pay for it.
+    private volatile NameIndex nameIndex;
+    // Built on the first lookup by id.
+    private volatile Map<String, EmployeeResponse> employeesById;
+
+    private EmployeeSnapshot(
+            List<EmployeeResponse> employees,
+            SalaryIndex salaryIndex,
+            EmployeeStats stats,
+            NameIndex nameIndex,
+            Map<String, EmployeeResponse> employeesById,
+            long version,
+            long loadedAtMillis) {
+        this.employees = employees instanceof ColumnarEmployees ? employees : Collections.unmodifiableList(employees);
+        this.salaryIndex = salaryIndex;
+        this.stats = stats;
+        this.nameIndex = nameIndex;
+        this.employeesById = employeesById;
+        this.version = version;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    /**
+     * Creates a snapshot of a copy of {@code employees}. A columnar list is immutable and is used as is.
+     */
+    public static EmployeeSnapshot of(List<EmployeeResponse> employees, long version, long loadedAtMillis) {
+        List<EmployeeResponse> copy = employees instanceof ColumnarEmployees ? employees : new ArrayList<>(employees);
+        return new EmployeeSnapshot(
+                copy, SalaryIndex.build(copy), EmployeeStats.build(copy), null, null, version, loadedAtMillis);
+    }
+
+    public List<EmployeeResponse> getEmployees() {
+        return employees;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public Optional<EmployeeResponse> findById(String id) {
+        if (employees instanceof ColumnarEmployees columnar) {
+            int index = columnar.indexOf(id);
+            return index < 0 ? Optional.empty() : Optional.of(columnar.get(index));
+        }
+        return Optional.ofNullable(employeesById().get(id));
+    }
+
+    public OptionalInt highestSalary() {
+        return salaryIndex.isEmpty() ? OptionalInt.empty() : OptionalInt.of(salaryIndex.highestSalary());
+    }
+
+    /**
+     * Returns the salary distribution from the maintained salary sum and sorted salary index, in O(1).
+     */
+    public SalaryStats salaryStats() {
+        int count = salaryIndex.size();
+        if (count == 0) {
+            return new SalaryStats(0, null, null, null, null, null, null);
+        }
+        return new SalaryStats(
+                count,
+                salaryIndex.lowestSalary(),
+                salaryIndex.highestSalary(),
+                (double) stats.salarySum() / count,
+                percentile(50),
+                percentile(90),
+                percentile(99));
+    }
+
+    /**
+     * Returns headcount and average salary per title, largest headcount first.
+     */
+    public List<TitleStats> titleStats() {
+        return stats.titleStats();
+    }
+
+    /**
+     * Returns the non-empty age buckets of {@code bucketSize} years, starting at age 0.
+     */
+    public List<AgeBucket> ageHistogram(int bucketSize) {
+        return stats.ageHistogram(bucketSize);
+    }
+
+    /**
+     * Returns up to {@code limit} employees ordered by salary, highest first, in O(limit).
+     */
+    public List<EmployeeResponse> topEarners(int limit) {
+        int count = Math.min(limit, employees.size());
+        List<EmployeeResponse> result = new ArrayList<>(count);
+        for (int rank = 0; rank < count; rank++) {
+            result.add(employees.get(salaryIndex.positionAt(rank)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns, in snapshot order, the employees whose name contains {@code query} ignoring case, skipping the first
+     * {@code offset} matches and returning at most {@code limit}.
+     */
+    public List<EmployeeResponse> searchByName(String query, int offset, int limit) {
+        int[] positions = nameIndex().search(query, offset, limit);
+        List<EmployeeResponse> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(employees.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first employee, in snapshot order, whose name equals {@code name} ignoring case. Snapshots keep the
+     * upstream's insertion order, so this is the employee the upstream deletes for that name.
+     */
+    public Optional<EmployeeResponse> findFirstByName(String name) {
+        int position = nameIndex().firstEqual(name);
+        return position < 0 ? Optional.empty() : Optional.of(employees.get(position));
+    }
+
+    /**
+     * Returns this snapshot, version and indexes included, as if it had been loaded at {@code loadedAtMillis}.
+     */
+    public EmployeeSnapshot withLoadedAtMillis(long loadedAtMillis) {
+        return new EmployeeSnapshot(employees, salaryIndex, stats, nameIndex, employeesById, version, loadedAtMillis);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the employee appended. The load time is kept so that local writes do not
+     * extend the snapshot's freshness.
+     */
+    public EmployeeSnapshot withEmployee(EmployeeResponse employee, long newVersion) {
+        List<EmployeeResponse> copy;
+        if (employees instanceof ColumnarEmployees columnar) {
+            copy = columnar.withAppended(employee);
+        } else {
+            copy = new ArrayList<>(employees.size() + 1);
+            copy.addAll(employees);
+            copy.add(employee);
+        }
+        SalaryIndex newSalaryIndex = salaryIndex.withAppended(employee.getEmployeeSalary(), employees.size());
+        NameIndex currentNameIndex = nameIndex;
+        NameIndex newNameIndex = currentNameIndex == null
+                ? null
+                : currentNameIndex.withAppended(employee.getEmployeeName(), employees.size());
+        Map<String, EmployeeResponse> newEmployeesById = copyEmployeesById();
+        if (newEmployeesById != null) {
+            newEmployeesById.put(employee.getId(), employee);
+        }
+        return new EmployeeSnapshot(
+                copy,
+                newSalaryIndex,
+                stats.withAdded(employee),
+                newNameIndex,
+                newEmployeesById,
+                newVersion,
+                loadedAtMillis);
+    }
+
+    /**
+     * Returns a copy of this snapshot with all of {@code added} appended, in a single O(n + k log k) copy rather than
+     * one copy per employee. The name index is rebuilt on the next search.
+     */
+    public EmployeeSnapshot withEmployees(List<EmployeeResponse> added, long newVersion) {
+        List<EmployeeResponse> copy;
+        if (employees instanceof ColumnarEmployees columnar) {
+            copy = columnar.withAppended(added);
+        } else {
+            copy = new ArrayList<>(employees.size() + added.size());
+            copy.addAll(employees);
+            copy.addAll(added);
+        }
+        int[] addedSalaries = new int[added.size()];
+        EmployeeStats newStats = stats;
+        Map<String, EmployeeResponse> newEmployeesById = copyEmployeesById();
+        for (int i = 0; i < addedSalaries.length; i++) {
+            EmployeeResponse employee = added.get(i);
+            addedSalaries[i] = employee.getEmployeeSalary();
+            newStats = newStats.withAdded(employee);
+            if (newEmployeesById != null) {
+                newEmployeesById.put(employee.getId(), employee);
+            }
+        }
+        return new EmployeeSnapshot(
+                copy,
+                salaryIndex.withAppended(addedSalaries, employees.size()),
+                newStats,
+                null,
+                newEmployeesById,
+                newVersion,
+                loadedAtMillis);
+    }
+
+    /**
+     * Returns a copy of this snapshot without the employee with the given id, or this snapshot if no such employee
+     * exists.
+     */
+    public EmployeeSnapshot withoutEmployee(String id, long newVersion) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return this;
+        }
+        List<EmployeeResponse> copy;
+        if (employees instanceof ColumnarEmployees columnar) {
+            copy = columnar.withRemoved(index);
+        } else {
+            copy = new ArrayList<>(employees.size() - 1);
+            copy.addAll(employees.subList(0, index));
+            copy.addAll(employees.subList(index + 1, employees.size()));
+        }
+        Map<String, EmployeeResponse> newEmployeesById = copyEmployeesById();
+        if (newEmployeesById != null) {
+            newEmployeesById.remove(id);
+        }
+        return new EmployeeSnapshot(
+                copy,
+                salaryIndex.withRemoved(index),
+                stats.withRemoved(employees.get(index)),
+                null,
+                newEmployeesById,
+                newVersion,
+                loadedAtMillis);
+    }
+
+    /**
+     * Returns a copy of this snapshot without the employees with the given ids, removed in a single O(n) copy rather
+     * than one copy per employee, or this snapshot if none of them exist.
+     */
+    public EmployeeSnapshot withoutEmployees(Set<String> ids, long newVersion) {
+        boolean[] removed = new boolean[employees.size()];
+        List<EmployeeResponse> removedEmployees = new ArrayList<>();
+        if (employees instanceof ColumnarEmployees columnar) {
+            for (String id : ids) {
+                int index = columnar.indexOf(id);
+                if (index >= 0 && !removed[index]) {
+                    removed[index] = true;
+                    removedEmployees.add(columnar.get(index));
+                }
+            }
+        } else {
+            for (int index = 0; index < removed.length; index++) {
+                if (ids.contains(employees.get(index).getId())) {
+                    removed[index] = true;
+                    removedEmployees.add(employees.get(index));
+                }
+            }
+        }
+        if (removedEmployees.isEmpty()) {
+            return this;
+        }
+        List<EmployeeResponse> copy;
+        if (employees instanceof ColumnarEmployees columnar) {
+            int[] indexes = new int[removedEmployees.size()];
+            for (int index = 0, next = 0; index < removed.length; index++) {
+                if (removed[index]) {
+                    indexes[next++] = index;
+                }
+            }
+            copy = columnar.withRemoved(indexes);
+        } else {
+            copy = new ArrayList<>(employees.size() - removedEmployees.size());
+            for (int index = 0; index < removed.length; index++) {
+                if (!removed[index]) {
+                    copy.add(employees.get(index));
+                }
+            }
+        }
+        Map<String, EmployeeResponse> newEmployeesById = copyEmployeesById();
+        if (newEmployeesById != null) {
+            newEmployeesById.keySet().removeAll(ids);
+        }
+        return new EmployeeSnapshot(
+                copy,
+                salaryIndex.withRemoved(removed),
+                stats.withRemoved(removedEmployees),
+                null,
+                newEmployeesById,
+                newVersion,
+                loadedAtMillis);
+    }
+
+    /**
+     * Returns a copy of this snapshot with upstream changes applied, or this snapshot if none of them alter it. Creates
+     * of employees already present and deletes of absent ones are skipped, so changes the snapshot already reflects
+     * can be applied again. All deletes are removed in one copy and all creates appended in another, so the cost is
+     * O(n + d) for d changes.
+     */
+    public EmployeeSnapshot withChanges(List<EmployeeChange> changes, long newVersion) {
+        Map<String, EmployeeResponse> created = new LinkedHashMap<>();
+        Set<String> deleted = new HashSet<>();
+        for (EmployeeChange change : changes) {
+            if (change.getType() == EmployeeChange.Type.CREATED && change.getEmployee() != null) {
+                EmployeeResponse employee = change.getEmployee();
+                if (findById(employee.getId()).isEmpty()) {
+                    created.putIfAbsent(employee.getId(), employee);
+                }
+            } else if (change.getType() == EmployeeChange.Type.DELETED && created.remove(change.getId()) == null) {
+                deleted.add(change.getId());
+            }
+        }
+        EmployeeSnapshot result = deleted.isEmpty() ? this : withoutEmployees(deleted, newVersion);
+        return created.isEmpty() ? result : result.withEmployees(new ArrayList<>(created.values()), newVersion);
+    }
+
+    // Nearest rank: the smallest salary that at least percent% of salaries are less than or equal to.
+    private int percentile(int percent) {
+        int count = salaryIndex.size();
+        int ascendingRank = (int) Math.ceil(percent / 100.0 * count) - 1;
+        return salaryIndex.salaryAt(count - 1 - Math.max(0, ascendingRank));
+    }
+
+    private NameIndex nameIndex() {
+        NameIndex current = nameIndex;
+        if (current == null) {
+            synchronized (this) {
+                current = nameIndex;
+                if (current == null) {
+                    current = NameIndex.build(employees);
+                    nameIndex = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<String, EmployeeResponse> employeesById() {
+        Map<String, EmployeeResponse> current = employeesById;
+        if (current == null) {
+            synchronized (this) {
+                current = employeesById;
+                if (current == null) {
+                    current = new HashMap<>(employees.size() * 4 / 3 + 1);
+                    for (EmployeeResponse employee : employees) {
+                        current.put(employee.getId(), employee);
+                    }
+                    employeesById = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<String, EmployeeResponse> copyEmployeesById() {
+        Map<String, EmployeeResponse> current = employeesById;
+        return current == null ? null : new HashMap<>(current);
+    }
+
+    private int indexOf(String id) {
+        if (employees instanceof ColumnarEmployees columnar) {
+            return columnar.indexOf(id);
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            if (id.equals(employees.get(i).getId())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,151 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.AgeBucket;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.TitleStats;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running aggregates over a snapshot's employees: the salary sum, headcount and salary sum per title, and headcount
+ * per year of age. Built in one pass over the snapshot; mutations return a new instance in O(titles + ages), so the
+ * statistics endpoints never scan the employee list.
+ */
+final class EmployeeStats {
+
+    // Ages outside [0, MAX_AGE] are counted at the nearest bound.
+    static final int MAX_AGE = 150;
+
+    private final long salarySum;
+    private final Map<String, Totals> titles;
+    private final int[] ageCounts;
+
+    private EmployeeStats(long salarySum, Map<String, Totals> titles, int[] ageCounts) {
+        this.salarySum = salarySum;
+        this.titles = titles;
+        this.ageCounts = ageCounts;
+    }
+
+    static EmployeeStats build(List<EmployeeResponse> employees) {
+        ColumnarEmployees columnar = employees instanceof ColumnarEmployees c ? c : null;
+        long salarySum = 0;
+        // Mutable {headcount, salary sum} pairs, so the pass allocates once per title rather than once per employee.
+        Map<String, long[]> accumulators = new HashMap<>();
+        int[] ageCounts = new int[MAX_AGE + 1];
+        for (int i = 0; i < employees.size(); i++) {
+            int salary;
+            int age;
+            String title;
+            if (columnar != null) {
+                salary = columnar.salaryAt(i);
+                age = columnar.ageAt(i);
+                title = columnar.titleAt(i);
+            } else {
+                EmployeeResponse employee = employees.get(i);
+                salary = employee.getEmployeeSalary();
+                age = employee.getEmployeeAge();
+                title = employee.getEmployeeTitle();
+            }
+            salarySum += salary;
+            long[] accumulator = accumulators.computeIfAbsent(title, ignored -> new long[2]);
+            accumulator[0]++;
+            accumulator[1] += salary;
+            ageCounts[ageSlot(age)]++;
+        }
+        Map<String, Totals> titles = new HashMap<>(accumulators.size() * 4 / 3 + 1);
+        accumulators.forEach(
+                (title, accumulator) -> titles.put(title, new Totals((int) accumulator[0], accumulator[1])));
+        return new EmployeeStats(salarySum, titles, ageCounts);
+    }
+
+    long salarySum() {
+        return salarySum;
+    }
+
+    EmployeeStats withAdded(EmployeeResponse employee) {
+        return with(employee, 1);
+    }
+
+    EmployeeStats withRemoved(EmployeeResponse employee) {
+        return with(employee, -1);
+    }
+
+    /**
+     * Returns the stats without all of {@code removed}, copying the title totals and age counts once.
+     */
+    EmployeeStats withRemoved(List<EmployeeResponse> removed) {
+        long newSalarySum = salarySum;
+        Map<String, Totals> newTitles = new HashMap<>(titles);
+        int[] newAgeCounts = Arrays.copyOf(ageCounts, ageCounts.length);
+        for (EmployeeResponse employee : removed) {
+            int salary = employee.getEmployeeSalary();
+            newSalarySum -= salary;
+            Totals totals = newTitles.getOrDefault(employee.getEmployeeTitle(), new Totals(0, 0));
+            Totals updated = new Totals(totals.headcount() - 1, totals.salarySum() - salary);
+            if (updated.headcount() > 0) {
+                newTitles.put(employee.getEmployeeTitle(), updated);
+            } else {
+                newTitles.remove(employee.getEmployeeTitle());
+            }
+            newAgeCounts[ageSlot(employee.getEmployeeAge())]--;
+        }
+        return new EmployeeStats(newSalarySum, newTitles, newAgeCounts);
+    }
+
+    /**
+     * Returns headcount and average salary per title, largest headcount first. Employees without a title are grouped
+     * under a {@code null} title.
+     */
+    List<TitleStats> titleStats() {
+        List<TitleStats> result = new ArrayList<>(titles.size());
+        titles.forEach((title, totals) -> result.add(
+                new TitleStats(title, totals.headcount(), (double) totals.salarySum() / totals.headcount())));
+        result.sort(Comparator.comparingInt(TitleStats::getHeadcount)
+                .reversed()
+                .thenComparing(TitleStats::getTitle, Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    /**
+     * Returns the non-empty age buckets of the given width in ascending order, the first one starting at age 0.
+     */
+    List<AgeBucket> ageHistogram(int bucketSize) {
+        List<AgeBucket> result = new ArrayList<>();
+        for (int from = 0; from <= MAX_AGE; from += bucketSize) {
+            int to = Math.min(MAX_AGE, from + bucketSize - 1);
+            int count = 0;
+            for (int age = from; age <= to; age++) {
+                count += ageCounts[age];
+            }
+            if (count > 0) {
+                result.add(new AgeBucket(from, to, count));
+            }
+        }
+        return result;
+    }
+
+    private EmployeeStats with(EmployeeResponse employee, int sign) {
+        int salary = employee.getEmployeeSalary();
+        Map<String, Totals> newTitles = new HashMap<>(titles);
+        Totals totals = newTitles.getOrDefault(employee.getEmployeeTitle(), new Totals(0, 0));
+        Totals updated = new Totals(totals.headcount() + sign, totals.salarySum() + (long) sign * salary);
+        if (updated.headcount() > 0) {
+            newTitles.put(employee.getEmployeeTitle(), updated);
+        } else {
+            newTitles.remove(employee.getEmployeeTitle());
+        }
+        int[] newAgeCounts = Arrays.copyOf(ageCounts, ageCounts.length);
+        newAgeCounts[ageSlot(employee.getEmployeeAge())] += sign;
+        return new EmployeeStats(salarySum + (long) sign * salary, newTitles, newAgeCounts);
+    }
+
+    private static int ageSlot(int age) {
+        return Math.max(0, Math.min(MAX_AGE, age));
+    }
+
+    private record Totals(int headcount, long salarySum) {}
+}
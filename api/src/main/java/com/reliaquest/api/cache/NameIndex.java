@@ -0,0 +1,195 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeResponse;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-folded trigram index over a snapshot's employee names. A substring query only visits the positions in the
+ * posting lists of its trigrams and verifies them against the pre-folded names, so no per-row strings are allocated.
+ * Queries shorter than a trigram fall back to a scan over the pre-folded names.
+ */
+final class NameIndex {
+
+    private static final int GRAM = 3;
+
+    private final String[] foldedNames;
+    // Ascending snapshot positions of the names containing each trigram.
+    private final Map<Long, int[]> postings;
+
+    private NameIndex(String[] foldedNames, Map<Long, int[]> postings) {
+        this.foldedNames = foldedNames;
+        this.postings = postings;
+    }
+
+    static NameIndex build(List<EmployeeResponse> employees) {
+        String[] foldedNames = new String[employees.size()];
+        Map<Long, PostingsBuilder> builders = new HashMap<>();
+        ColumnarEmployees columnar = employees instanceof ColumnarEmployees c ? c : null;
+        for (int position = 0; position < foldedNames.length; position++) {
+            String folded = fold(
+                    columnar != null
+                            ? columnar.nameAt(position)
+                            : employees.get(position).getEmployeeName());
+            foldedNames[position] = folded;
+            for (int i = 0; i + GRAM <= folded.length(); i++) {
+                builders.computeIfAbsent(trigram(folded, i), ignored -> new PostingsBuilder())
+                        .add(position);
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((key, builder) -> postings.put(key, builder.toArray()));
+        return new NameIndex(foldedNames, postings);
+    }
+
+    /**
+     * Returns an index that also contains {@code name} at {@code position}, which must be the snapshot's new last
+     * position. This is O(n): the folded names and the postings map are copied, though the posting lists themselves
+     * are shared and only those of the name's trigrams are replaced. Appending to a snapshot copies its employee list
+     * and salary index in O(n) as well, so a persistent map here would not change the cost of a local create.
+     */
+    NameIndex withAppended(String name, int position) {
+        String[] newFoldedNames = Arrays.copyOf(foldedNames, foldedNames.length + 1);
+        String folded = fold(name);
+        newFoldedNames[position] = folded;
+        Map<Long, int[]> newPostings = new HashMap<>(postings);
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            newPostings.compute(trigram(folded, i), (key, current) -> {
+                if (current == null) {
+                    return new int[] {position};
+                }
+                if (current[current.length - 1] == position) {
+                    return current;
+                }
+                int[] appended = Arrays.copyOf(current, current.length + 1);
+                appended[current.length] = position;
+                return appended;
+            });
+        }
+        return new NameIndex(newFoldedNames, newPostings);
+    }
+
+    /**
+     * Returns, in snapshot order, the positions of at most {@code limit} names containing {@code query}
+     * case-insensitively, skipping the first {@code offset} matches.
+     */
+    int[] search(String query, int offset, int limit) {
+        return find(fold(query), false, offset, limit);
+    }
+
+    /**
+     * Returns the first position whose name equals {@code name} case-insensitively, or -1.
+     */
+    int firstEqual(String name) {
+        int[] positions = find(fold(name), true, 0, 1);
+        return positions.length == 0 ? -1 : positions[0];
+    }
+
+    private int[] find(String folded, boolean exact, int offset, int limit) {
+        if (folded.length() < GRAM) {
+            return scan(folded, exact, offset, limit);
+        }
+        int[][] lists = new int[folded.length() - GRAM + 1][];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(trigram(folded, i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        MatchCollector matches = new MatchCollector(offset, limit);
+        for (int position : lists[0]) {
+            if (containedInAll(lists, position)
+                    && nameMatches(foldedNames[position], folded, exact)
+                    && matches.add(position)) {
+                break;
+            }
+        }
+        return matches.toArray();
+    }
+
+    private int[] scan(String folded, boolean exact, int offset, int limit) {
+        MatchCollector matches = new MatchCollector(offset, limit);
+        for (int position = 0; position < foldedNames.length; position++) {
+            if (nameMatches(foldedNames[position], folded, exact) && matches.add(position)) {
+                break;
+            }
+        }
+        return matches.toArray();
+    }
+
+    private static boolean nameMatches(String foldedName, String folded, boolean exact) {
+        return exact ? foldedName.equals(folded) : foldedName.contains(folded);
+    }
+
+    private static boolean containedInAll(int[][] lists, int position) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i], position) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String fold(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String folded, int start) {
+        return ((long) folded.charAt(start) << 32) | ((long) folded.charAt(start + 1) << 16) | folded.charAt(start + 2);
+    }
+
+    private static final class PostingsBuilder {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            // A name repeating a trigram must only be listed once.
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+
+    private static final class MatchCollector {
+        private int toSkip;
+        private final int limit;
+        private int[] positions = new int[16];
+        private int size;
+
+        MatchCollector(int offset, int limit) {
+            this.toSkip = offset;
+            this.limit = limit;
+        }
+
+        /** Records a match and returns true once the page is full. */
+        boolean add(int position) {
+            if (toSkip > 0) {
+                toSkip--;
+                return false;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+            return size >= limit;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
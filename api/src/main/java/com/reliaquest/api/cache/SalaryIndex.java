@@ -0,0 +1,174 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeResponse;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Positions of a snapshot's employees ordered by salary, highest first. Employees with equal salaries keep their
+ * snapshot order. The index is immutable; mutations return a new index in O(n) without re-sorting.
+ */
+final class SalaryIndex {
+
+    private final int[] salaries;
+    private final int[] positions;
+
+    private SalaryIndex(int[] salaries, int[] positions) {
+        this.salaries = salaries;
+        this.positions = positions;
+    }
+
+    static SalaryIndex build(List<EmployeeResponse> employees) {
+        int size = employees.size();
+        // High word orders by descending salary, low word breaks ties by ascending position.
+        long[] keys = new long[size];
+        ColumnarEmployees columnar = employees instanceof ColumnarEmployees c ? c : null;
+        for (int i = 0; i < size; i++) {
+            int salary =
+                    columnar != null ? columnar.salaryAt(i) : employees.get(i).getEmployeeSalary();
+            keys[i] = ((long) ~salary << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] salaries = new int[size];
+        int[] positions = new int[size];
+        for (int rank = 0; rank < size; rank++) {
+            salaries[rank] = ~(int) (keys[rank] >> 32);
+            positions[rank] = (int) keys[rank];
+        }
+        return new SalaryIndex(salaries, positions);
+    }
+
+    boolean isEmpty() {
+        return positions.length == 0;
+    }
+
+    int size() {
+        return positions.length;
+    }
+
+    int highestSalary() {
+        return salaries[0];
+    }
+
+    int lowestSalary() {
+        return salaries[salaries.length - 1];
+    }
+
+    int salaryAt(int rank) {
+        return salaries[rank];
+    }
+
+    int positionAt(int rank) {
+        return positions[rank];
+    }
+
+    /**
+     * Returns an index that also contains an employee appended at {@code position}, which must be the snapshot's new
+     * last position.
+     */
+    SalaryIndex withAppended(int salary, int position) {
+        int rank = firstRankBelow(salary);
+        int size = positions.length;
+        int[] newSalaries = new int[size + 1];
+        int[] newPositions = new int[size + 1];
+        System.arraycopy(salaries, 0, newSalaries, 0, rank);
+        System.arraycopy(positions, 0, newPositions, 0, rank);
+        newSalaries[rank] = salary;
+        newPositions[rank] = position;
+        System.arraycopy(salaries, rank, newSalaries, rank + 1, size - rank);
+        System.arraycopy(positions, rank, newPositions, rank + 1, size - rank);
+        return new SalaryIndex(newSalaries, newPositions);
+    }
+
+    /**
+     * Returns an index that also contains employees appended at consecutive positions from {@code firstPosition},
+     * which must be the snapshot's new last positions. Only the appended salaries are sorted; they are then merged in
+     * one pass.
+     */
+    SalaryIndex withAppended(int[] appendedSalaries, int firstPosition) {
+        int count = appendedSalaries.length;
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) ~appendedSalaries[i] << 32) | (firstPosition + i);
+        }
+        Arrays.sort(keys);
+        int size = positions.length;
+        int[] newSalaries = new int[size + count];
+        int[] newPositions = new int[size + count];
+        int existing = 0;
+        int appended = 0;
+        for (int rank = 0; rank < newSalaries.length; rank++) {
+            // On equal salaries the existing, lower position goes first.
+            if (appended == count || (existing < size && salaries[existing] >= ~(int) (keys[appended] >> 32))) {
+                newSalaries[rank] = salaries[existing];
+                newPositions[rank] = positions[existing++];
+            } else {
+                newSalaries[rank] = ~(int) (keys[appended] >> 32);
+                newPositions[rank] = (int) keys[appended++];
+            }
+        }
+        return new SalaryIndex(newSalaries, newPositions);
+    }
+
+    /**
+     * Returns an index without the employee at {@code position}, shifting the positions after it down by one.
+     */
+    SalaryIndex withRemoved(int position) {
+        int size = positions.length;
+        int[] newSalaries = new int[size - 1];
+        int[] newPositions = new int[size - 1];
+        int target = 0;
+        for (int rank = 0; rank < size; rank++) {
+            int current = positions[rank];
+            if (current == position) {
+                continue;
+            }
+            newSalaries[target] = salaries[rank];
+            newPositions[target] = current > position ? current - 1 : current;
+            target++;
+        }
+        return new SalaryIndex(newSalaries, newPositions);
+    }
+
+    /**
+     * Returns an index without the employees at {@code removed} positions, shifting the positions after each of them
+     * down, in one pass.
+     */
+    SalaryIndex withRemoved(boolean[] removed) {
+        // Maps each old position to its position once the removed ones are gone.
+        int[] shifted = new int[removed.length];
+        int kept = 0;
+        for (int position = 0; position < removed.length; position++) {
+            shifted[position] = kept;
+            if (!removed[position]) {
+                kept++;
+            }
+        }
+        int[] newSalaries = new int[kept];
+        int[] newPositions = new int[kept];
+        int target = 0;
+        for (int rank = 0; rank < positions.length; rank++) {
+            int current = positions[rank];
+            if (!removed[current]) {
+                newSalaries[target] = salaries[rank];
+                newPositions[target++] = shifted[current];
+            }
+        }
+        return new SalaryIndex(newSalaries, newPositions);
+    }
+
+    // Salaries are sorted descending, so search for the first rank whose salary is strictly lower.
+    private int firstRankBelow(int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
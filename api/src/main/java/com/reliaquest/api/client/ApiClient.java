@@ -2,15 +2,25 @@ package com.reliaquest.api.client;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.UpstreamGuard.Operation;
+import com.reliaquest.api.client.UpstreamScheduler.Priority;
 import com.reliaquest.api.exception.ApiException;
 import com.reliaquest.api.exception.NotFoundException;
 import com.reliaquest.api.exception.ServerErrorException;
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.exception.ValidationException;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.api.model.ResponseWrapper;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +35,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Component
 @RequiredArgsConstructor
@@ -32,92 +43,226 @@ public class ApiClient {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final EmployeeStreamReader employeeStreamReader;
+    private final UpstreamScheduler upstreamScheduler;
+    private final SingleFlight singleFlight;
+    private final PagedEmployeeFetcher pagedEmployeeFetcher;
+    private final UpstreamMetrics upstreamMetrics;
+    private final UpstreamGuard upstreamGuard;
 
     @Value("${api.base-url}")
     private String baseUrl;
 
-    public static final TypeReference<ResponseWrapper<List<EmployeeResponse>>> LIST_EMPLOYEE_RESPONSE =
-            new TypeReference<ResponseWrapper<List<EmployeeResponse>>>() {};
-
     public static final TypeReference<ResponseWrapper<EmployeeResponse>> EMPLOYEE_RESPONSE =
             new TypeReference<ResponseWrapper<EmployeeResponse>>() {};
 
+    public static final TypeReference<ResponseWrapper<EmployeeChanges>> CHANGES_RESPONSE =
+            new TypeReference<ResponseWrapper<EmployeeChanges>>() {};
+
     private static final Logger logger = LoggerFactory.getLogger(ApiClient.class);
 
-    public List<EmployeeResponse> getAllEmployees() {
-        logger.info("Fetching all employees from API.");
-        return getDataFromApi(baseUrl, LIST_EMPLOYEE_RESPONSE);
+    /**
+     * Streams the upstream employee list to {@code consumer} as it is decoded from the response body, without
+     * buffering the body or the list. Returns the number of employees consumed. With {@code api.fetch.mode=paged} the
+     * list is downloaded as concurrent pages instead, see {@link PagedEmployeeFetcher}.
+     */
+    public int streamAllEmployees(Consumer<EmployeeResponse> consumer) {
+        return streamAllEmployees(null, consumer).count();
+    }
+
+    /**
+     * Like {@link #streamAllEmployees(Consumer)}, but sends {@code ifNoneMatch}, when not null, as
+     * {@code If-None-Match}. If the upstream answers 304 nothing is downloaded or consumed and the result is not
+     * {@link ConditionalFetch#modified() modified}. Paged fetches are never conditional.
+     */
+    public ConditionalFetch streamAllEmployees(String ifNoneMatch, Consumer<EmployeeResponse> consumer) {
+        logger.info("Streaming all employees from API.");
+        if (pagedEmployeeFetcher.isEnabled()) {
+            int count =
+                    callApi(() -> upstreamGuard.execute(Operation.LIST, () -> pagedEmployeeFetcher.fetchAll(consumer)));
+            return new ConditionalFetch(true, null, count);
+        }
+        return callApi(() -> upstreamGuard.execute(
+                Operation.LIST,
+                () -> upstreamScheduler.execute(
+                        Priority.REFRESH,
+                        () -> restTemplate.execute(
+                                baseUrl,
+                                HttpMethod.GET,
+                                request -> {
+                                    request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                                    if (ifNoneMatch != null) {
+                                        request.getHeaders().setIfNoneMatch(ifNoneMatch);
+                                    }
+                                },
+                                response -> {
+                                    if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                                        logger.info("Employee list not modified since {}.", ifNoneMatch);
+                                        return ConditionalFetch.notModified(ifNoneMatch);
+                                    }
+                                    CountingInputStream body = new CountingInputStream(response.getBody());
+                                    long start = System.nanoTime();
+                                    int read = employeeStreamReader.readEmployees(body, consumer);
+                                    upstreamMetrics.recordParse("list", System.nanoTime() - start, body.getCount());
+                                    return new ConditionalFetch(
+                                            true, response.getHeaders().getETag(), read);
+                                }))));
+    }
+
+    /**
+     * Returns the upstream creates and deletes made after {@code cursor}, oldest first, following the feed until it is
+     * exhausted. Returns empty if the upstream can no longer bring {@code cursor} up to date (410 Gone), because its
+     * change log was truncated past it or it has restarted since, and the list has to be loaded in full instead.
+     */
+    public Optional<EmployeeChanges> getChangesSince(ChangeCursor cursor) {
+        logger.info("Fetching employee changes since {}.", cursor);
+        List<EmployeeChange> changes = new ArrayList<>();
+        long since = cursor.sequence();
+        EmployeeChanges page;
+        do {
+            String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                    .path("/changes")
+                    .queryParam("since", since)
+                    .queryParam("epoch", cursor.epoch())
+                    .toUriString();
+            Optional<EmployeeChanges> fetched = getChangesPage(url);
+            if (fetched.isEmpty()) {
+                logger.info("Employee changes since {} are no longer available upstream.", cursor);
+                return Optional.empty();
+            }
+            page = fetched.get();
+            changes.addAll(page.getChanges());
+            since = page.getLatest();
+        } while (page.isHasMore() && !page.getChanges().isEmpty());
+        return Optional.of(new EmployeeChanges(page.getEpoch(), page.getLatest(), false, changes));
     }
 
     public EmployeeResponse getEmployeeById(String id) {
         logger.info("Fetching employee with ID: {}", id);
         String url = baseUrl + "/" + id;
-        return getDataFromApi(url, EMPLOYEE_RESPONSE);
+        return singleFlight.execute("getEmployeeById", "GET " + url, () -> getDataFromApi(url, EMPLOYEE_RESPONSE));
     }
 
     public EmployeeResponse createEmployee(CreateEmployeeInput input) {
         logger.info("Creating new employee: {}", input.getName());
         try {
-            ResponseEntity<String> response = restTemplate.postForEntity(baseUrl, input, String.class);
+            ResponseEntity<String> response = upstreamGuard.execute(
+                    Operation.CREATE,
+                    () -> upstreamScheduler.execute(
+                            Priority.WRITE, () -> restTemplate.postForEntity(baseUrl, input, String.class)));
             return parseResponse(response, EMPLOYEE_RESPONSE);
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
                 throw new ValidationException("Invalid request: " + e.getMessage());
+            } else if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                throw new TooManyRequestsException("Rate limit exceeded during creation: " + e.getStatusCode());
             } else {
                 throw new ApiException("Client error during creation: " + e.getMessage());
             }
         } catch (HttpServerErrorException e) {
             throw new ServerErrorException("Server error during creation: " + e.getMessage());
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new ApiException("Failed to create employee: " + e.getMessage());
         }
     }
 
-    public String deleteEmployeeById(String id) {
-        logger.info("Deleting employee with ID: {}", id);
+    /**
+     * Deletes the oldest upstream employee with the given name, ignoring case. The upstream answers with a bare
+     * success flag, so callers deleting a particular employee must make sure no older one shares its name.
+     */
+    public String deleteEmployeeByName(String name) {
+        logger.info("Deleting employee with name: {}", name);
         try {
-            EmployeeResponse response = getEmployeeById(id);
-            if (response == null) {
-                throw new NotFoundException("Employee with ID " + id + " not found.");
-            }
             DeleteEmployeeInput deleteInput = new DeleteEmployeeInput();
-            deleteInput.setName(response.getEmployeeName());
+            deleteInput.setName(name);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<DeleteEmployeeInput> requestEntity = new HttpEntity<>(deleteInput, headers);
 
-            restTemplate.exchange(baseUrl, HttpMethod.DELETE, requestEntity, String.class);
+            upstreamGuard.execute(
+                    Operation.DELETE,
+                    () -> upstreamScheduler.execute(
+                            Priority.WRITE,
+                            () -> restTemplate.exchange(baseUrl, HttpMethod.DELETE, requestEntity, String.class)));
             return "Successfully deleted employee.";
         } catch (HttpClientErrorException.NotFound e) {
             throw new NotFoundException("Employee not found: " + e.getMessage());
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            throw new TooManyRequestsException("Rate limit exceeded during deletion: " + e.getStatusCode());
         } catch (HttpServerErrorException e) {
             throw new ServerErrorException("Server error while deleting employee: " + e.getMessage());
         }
     }
 
     private <T> T getDataFromApi(String url, TypeReference<ResponseWrapper<T>> typeRef) {
-        try {
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        return callApi(() -> {
+            ResponseEntity<String> response = upstreamGuard.execute(
+                    Operation.GET_BY_ID,
+                    () -> upstreamScheduler.execute(
+                            Priority.LOOKUP, () -> restTemplate.getForEntity(url, String.class)));
             return parseResponse(response, typeRef);
+        });
+    }
+
+    private Optional<EmployeeChanges> getChangesPage(String url) {
+        return callApi(() -> upstreamGuard.execute(Operation.LIST, () -> {
+            try {
+                ResponseEntity<String> response =
+                        upstreamScheduler.execute(Priority.REFRESH, () -> restTemplate.getForEntity(url, String.class));
+                EmployeeChanges page = parseResponse(response, CHANGES_RESPONSE, "changes");
+                if (page == null || page.getChanges() == null) {
+                    throw new ApiException("Error parsing API response: no changes in " + response.getBody());
+                }
+                return Optional.of(page);
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode() == HttpStatus.GONE) {
+                    return Optional.empty();
+                }
+                throw e;
+            }
+        }));
+    }
+
+    private <T> T callApi(Supplier<T> call) {
+        try {
+            return call.get();
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
                 throw new NotFoundException("Resource not found: " + e.getStatusCode());
             } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
                 throw new ValidationException("Invalid request: " + e.getStatusCode());
+            } else if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                throw new TooManyRequestsException("Rate limit exceeded: " + e.getStatusCode());
             } else {
                 throw new ApiException("Client error: " + e.getMessage());
             }
         } catch (HttpServerErrorException e) {
             throw new ServerErrorException("Server error: " + e.getStatusCode());
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new ApiException("Failed to fetch data: " + e.getMessage());
         }
     }
 
     private <T> T parseResponse(ResponseEntity<String> response, TypeReference<ResponseWrapper<T>> typeRef) {
+        return parseResponse(response, typeRef, "employee");
+    }
+
+    private <T> T parseResponse(
+            ResponseEntity<String> response, TypeReference<ResponseWrapper<T>> typeRef, String payload) {
         try {
-            ResponseWrapper<T> wrapper = objectMapper.readValue(response.getBody(), typeRef);
+            String body = response.getBody();
+            long start = System.nanoTime();
+            ResponseWrapper<T> wrapper = objectMapper.readValue(body, typeRef);
+            long contentLength = response.getHeaders().getContentLength();
+            upstreamMetrics.recordParse(
+                    payload,
+                    System.nanoTime() - start,
+                    contentLength >= 0 ? contentLength : body == null ? 0 : body.length());
             return wrapper.getData(); // Extract the data from the ResponseWrapper
         } catch (Exception e) {
             throw new ApiException("Error parsing API response: " + e.getMessage());
@@ -0,0 +1,43 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrent calls of one kind, so that one slow kind of call cannot take every connection and
+ * upstream permit from the others. Callers wait up to {@code maxWaitMillis} for a slot.
+ */
+final class Bulkhead {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Counter rejected;
+
+    Bulkhead(String name, int maxConcurrent, long maxWaitMillis, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.rejected = Counter.builder("upstream.bulkhead.rejected")
+                .description("Upstream calls refused by a full bulkhead")
+                .tag("operation", name)
+                .register(meterRegistry);
+        Gauge.builder("upstream.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Free upstream call slots")
+                .tag("operation", name)
+                .register(meterRegistry);
+    }
+
+    boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.api.client;
+
+/**
+ * Position in the upstream change feed: the epoch of the upstream dataset, which changes when the upstream restarts,
+ * and the sequence of the last write already reflected.
+ */
+public record ChangeCursor(String epoch, long sequence) {
+
+    /**
+     * Reads the cursor from an upstream list ETag of the form {@code "<epoch>-<sequence>"}. Returns null if the ETag is
+     * null or in any other form, in which case the upstream cannot be synced incrementally.
+     */
+    public static ChangeCursor fromETag(String etag) {
+        if (etag == null) {
+            return null;
+        }
+        String value = etag.startsWith("W/") ? etag.substring(2) : etag;
+        if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return null;
+        }
+        value = value.substring(1, value.length() - 1);
+        int separator = value.lastIndexOf('-');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            long sequence = Long.parseLong(value.substring(separator + 1));
+            return sequence < 0 ? null : new ChangeCursor(value.substring(0, separator), sequence);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row the circuit opens and calls
+ * are refused for {@code openNanos}; it then half-opens and admits up to {@code halfOpenProbes} trial calls. The
+ * circuit closes once that many trials have succeeded and reopens as soon as one fails.
+ *
+ * <p>Results are reported against the {@link Permit} a call was admitted with, so calls that were already running when
+ * the circuit changed state cannot skew the trial.
+ */
+final class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    enum Permit {
+        REJECTED,
+        CALL,
+        PROBE
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    // All guarded by this.
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    private final Counter rejected;
+    private final Map<State, Counter> transitions = new EnumMap<>(State.class);
+
+    CircuitBreaker(
+            String name,
+            int failureThreshold,
+            long openMillis,
+            int halfOpenProbes,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoClock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenProbes = halfOpenProbes;
+        this.nanoClock = nanoClock;
+        this.rejected = Counter.builder("upstream.circuit.rejected")
+                .description("Upstream calls refused by an open circuit")
+                .tag("operation", name)
+                .register(meterRegistry);
+        for (State target : State.values()) {
+            transitions.put(
+                    target,
+                    Counter.builder("upstream.circuit.transitions")
+                            .description("Circuit breaker state changes, by the state entered")
+                            .tag("operation", name)
+                            .tag("state", target.name())
+                            .register(meterRegistry));
+        }
+        Gauge.builder("upstream.circuit.state", this, breaker -> breaker.getState()
+                        .ordinal())
+                .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("operation", name)
+                .register(meterRegistry);
+    }
+
+    synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                rejected.increment();
+                return Permit.REJECTED;
+            }
+            transition(State.HALF_OPEN);
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                rejected.increment();
+                return Permit.REJECTED;
+            }
+            probesInFlight++;
+            return Permit.PROBE;
+        }
+        return Permit.CALL;
+    }
+
+    synchronized void onSuccess(Permit permit) {
+        if (permit == Permit.PROBE && state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (++probeSuccesses >= halfOpenProbes) {
+                consecutiveFailures = 0;
+                transition(State.CLOSED);
+            }
+        } else if (permit == Permit.CALL && state == State.CLOSED) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    synchronized void onFailure(Permit permit) {
+        if (permit == Permit.PROBE && state == State.HALF_OPEN) {
+            open();
+        } else if (permit == Permit.CALL && state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /** The call ended without telling anything about the upstream's health, e.g. it was never sent. */
+    synchronized void onIgnored(Permit permit) {
+        if (permit == Permit.PROBE && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /** Whole seconds until an open circuit half-opens, at least 1; 0 when not open. */
+    synchronized long getRetryAfterSeconds() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        long remaining = openNanos - (nanoClock.getAsLong() - openedAtNanos);
+        return Math.max(1, (TimeUnit.NANOSECONDS.toMillis(remaining) + 999) / 1000);
+    }
+
+    private void open() {
+        openedAtNanos = nanoClock.getAsLong();
+        transition(State.OPEN);
+    }
+
+    private void transition(State target) {
+        logger.warn("Upstream {} circuit {} -> {}.", name, state, target);
+        state = target;
+        transitions.get(target).increment();
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.client;
+
+/**
+ * Outcome of a conditional upstream list request.
+ *
+ * @param modified false if the upstream answered 304 Not Modified and nothing was consumed
+ * @param etag the version of the list, to send as {@code If-None-Match} next time; null if the upstream sent none
+ * @param count the number of employees consumed
+ */
+public record ConditionalFetch(boolean modified, String etag, int count) {
+
+    static ConditionalFetch notModified(String etag) {
+        return new ConditionalFetch(false, etag, 0);
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.EmployeeResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decodes the upstream employee list response directly from its input stream, handing each employee of the
+ * {@code data} array to a consumer as soon as it is parsed instead of materialising the body first.
+ */
+@Component
+public class EmployeeStreamReader {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader employeeReader;
+
+    public EmployeeStreamReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.employeeReader = objectMapper.readerFor(EmployeeResponse.class);
+    }
+
+    /**
+     * Reads a {@code {"data": [...], "status": ...}} document and returns the number of employees passed to the
+     * consumer.
+     */
+    public int readEmployees(InputStream body, Consumer<EmployeeResponse> consumer) throws IOException {
+        int count = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ApiException("Error parsing API response: expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        if (element == JsonToken.VALUE_NULL) {
+                            continue;
+                        }
+                        consumer.accept(employeeReader.readValue(parser));
+                        count++;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,184 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.UpstreamScheduler.Priority;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.ResponseWrapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Loads the full employee list through the upstream's paged endpoint, with the pages after the first downloaded
+ * concurrently.
+ *
+ * <p>The first page reports the total, which fixes the offsets of the remaining pages; those are fetched on a pool of
+ * {@code api.fetch.parallelism} threads and handed to the consumer strictly in page order. Each page is retried on
+ * server errors and I/O errors. Offset pages are not a consistent cut: writes made during the fetch may shift rows
+ * across page boundaries, which the next refresh corrects.
+ *
+ * <p>The whole fetch is admitted by the {@link UpstreamScheduler} once, as a single {@code REFRESH} request, just like
+ * the one full-list request it replaces; the pages then run without further permits, so the download time falls with
+ * {@code api.fetch.parallelism} instead of being paced by the token bucket. A 429 on any page is not retried: it fails
+ * the fetch and reaches the scheduler, which slows every request down, and the cache keeps serving its last snapshot.
+ */
+@Component
+public class PagedEmployeeFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PagedEmployeeFetcher.class);
+
+    static final TypeReference<ResponseWrapper<EmployeePage>> PAGE_RESPONSE = new TypeReference<>() {};
+
+    public enum Mode {
+        /** One request for the whole list. */
+        FULL,
+        /** Concurrent offset pages. */
+        PAGED
+    }
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final UpstreamScheduler upstreamScheduler;
+    private final UpstreamMetrics upstreamMetrics;
+    private final Executor fetchExecutor;
+    private final String baseUrl;
+    private final Mode mode;
+    private final int pageSize;
+    private final int pageRetries;
+
+    public PagedEmployeeFetcher(
+            RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            UpstreamScheduler upstreamScheduler,
+            UpstreamMetrics upstreamMetrics,
+            @Qualifier("upstreamFetchExecutor") Executor fetchExecutor,
+            @Value("${api.base-url}") String baseUrl,
+            @Value("${api.fetch.mode:full}") Mode mode,
+            @Value("${api.fetch.page-size:1000}") int pageSize,
+            @Value("${api.fetch.page-retries:2}") int pageRetries) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.upstreamScheduler = upstreamScheduler;
+        this.upstreamMetrics = upstreamMetrics;
+        this.fetchExecutor = fetchExecutor;
+        this.baseUrl = baseUrl;
+        this.mode = mode;
+        this.pageSize = pageSize;
+        this.pageRetries = pageRetries;
+    }
+
+    public boolean isEnabled() {
+        return mode == Mode.PAGED;
+    }
+
+    /**
+     * Feeds every employee to {@code consumer} in upstream order and returns how many there were.
+     */
+    public int fetchAll(Consumer<EmployeeResponse> consumer) {
+        return upstreamScheduler.execute(Priority.REFRESH, () -> fetchPages(consumer));
+    }
+
+    private int fetchPages(Consumer<EmployeeResponse> consumer) {
+        long start = System.nanoTime();
+        EmployeePage first = fetchPage(0);
+        int pages = Math.max(1, (first.getTotal() + pageSize - 1) / pageSize);
+        List<CompletableFuture<EmployeePage>> remaining = new ArrayList<>(pages - 1);
+        for (int page = 1; page < pages; page++) {
+            int offset = page * pageSize;
+            remaining.add(CompletableFuture.supplyAsync(() -> fetchPage(offset), fetchExecutor));
+        }
+
+        int count = accept(first, consumer);
+        try {
+            for (CompletableFuture<EmployeePage> page : remaining) {
+                count += accept(await(page), consumer);
+            }
+        } catch (RuntimeException e) {
+            // Pages still queued are skipped once their future is cancelled.
+            remaining.forEach(page -> page.cancel(false));
+            throw e;
+        }
+        logger.info(
+                "Fetched {} employees in {} pages in {} ms.",
+                count,
+                pages,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return count;
+    }
+
+    private EmployeePage fetchPage(int offset) {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path("/page")
+                .queryParam("offset", offset)
+                .queryParam("limit", pageSize)
+                .toUriString();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                EmployeePage page = restTemplate.execute(
+                        url,
+                        HttpMethod.GET,
+                        request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                        response -> readPage(response.getBody()));
+                if (page == null || page.getEmployees() == null) {
+                    throw new ApiException("Error parsing API response: missing page data at offset " + offset);
+                }
+                return page;
+            } catch (HttpServerErrorException | ResourceAccessException e) {
+                if (attempt > pageRetries) {
+                    throw e;
+                }
+                logger.debug("Retrying page at offset {} after: {}", offset, e.getMessage());
+            }
+        }
+    }
+
+    private EmployeePage readPage(InputStream stream) throws IOException {
+        CountingInputStream body = new CountingInputStream(stream);
+        long start = System.nanoTime();
+        EmployeePage page = objectMapper.readValue(body, PAGE_RESPONSE).getData();
+        upstreamMetrics.recordParse("page", System.nanoTime() - start, body.getCount());
+        return page;
+    }
+
+    private static int accept(EmployeePage page, Consumer<EmployeeResponse> consumer) {
+        int count = 0;
+        for (EmployeeResponse employee : page.getEmployees()) {
+            if (employee != null) {
+                consumer.accept(employee);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static EmployeePage await(CompletableFuture<EmployeePage> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ApiException("Failed to fetch page: " + e.getMessage());
+        }
+    }
+}
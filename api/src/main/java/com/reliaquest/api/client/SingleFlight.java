@@ -0,0 +1,69 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collapses concurrent identical upstream calls: while a call for a key is in flight, other callers with the same key
+ * wait for it and receive its result (or its exception) instead of issuing their own request. Collapsed calls are
+ * counted per operation in {@code upstream.singleflight.collapsed}, which other collapsing callers such as the employee
+ * cache's list loads register into through {@link #collapsedCounter}.
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> collapsed = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static Counter collapsedCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("upstream.singleflight.collapsed")
+                .description("Upstream calls served by an identical call already in flight")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String key, Supplier<T> call) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            collapsed
+                    .computeIfAbsent(operation, name -> collapsedCounter(meterRegistry, name))
+                    .increment();
+            return (T) await(existing);
+        }
+        try {
+            T result = call.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ApiException("Upstream call failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Runs each kind of upstream call behind its own {@link CircuitBreaker} and {@link Bulkhead}, so a failing or slow
+ * operation fails fast with a {@link ServiceUnavailableException} instead of tying up request threads, and cannot
+ * starve the other operations.
+ *
+ * <p>5xx responses, I/O errors and 429s that survived the {@link UpstreamScheduler}'s retries count as failures. Local
+ * rejections by the scheduler say nothing about the upstream and are ignored; any other outcome, including 4xx
+ * answers, shows the upstream is healthy.
+ */
+@Component
+public class UpstreamGuard {
+
+    public enum Operation {
+        LIST,
+        GET_BY_ID,
+        CREATE,
+        DELETE
+    }
+
+    private final Map<Operation, CircuitBreaker> breakers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Bulkhead> bulkheads = new EnumMap<>(Operation.class);
+
+    public UpstreamGuard(
+            MeterRegistry meterRegistry,
+            @Value("${api.upstream.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${api.upstream.circuit.open-ms:10000}") long openMillis,
+            @Value("${api.upstream.circuit.half-open-probes:1}") int halfOpenProbes,
+            @Value("${api.upstream.bulkhead.list:2}") int listConcurrency,
+            @Value("${api.upstream.bulkhead.get-by-id:8}") int getByIdConcurrency,
+            @Value("${api.upstream.bulkhead.create:8}") int createConcurrency,
+            @Value("${api.upstream.bulkhead.delete:4}") int deleteConcurrency,
+            @Value("${api.upstream.bulkhead.max-wait-ms:100}") long maxWaitMillis) {
+        Map<Operation, Integer> concurrency = Map.of(
+                Operation.LIST, listConcurrency,
+                Operation.GET_BY_ID, getByIdConcurrency,
+                Operation.CREATE, createConcurrency,
+                Operation.DELETE, deleteConcurrency);
+        for (Operation operation : Operation.values()) {
+            String name = operation.name().toLowerCase(Locale.ROOT);
+            breakers.put(
+                    operation,
+                    new CircuitBreaker(
+                            name, failureThreshold, openMillis, halfOpenProbes, meterRegistry, System::nanoTime));
+            bulkheads.put(operation, new Bulkhead(name, concurrency.get(operation), maxWaitMillis, meterRegistry));
+        }
+    }
+
+    /**
+     * Runs {@code call} if the operation's circuit admits it and a bulkhead slot frees up in time, and records the
+     * outcome. Exceptions thrown by the call are passed through unchanged.
+     */
+    public <T> T execute(Operation operation, Supplier<T> call) {
+        CircuitBreaker breaker = breakers.get(operation);
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.Permit.REJECTED) {
+            throw new ServiceUnavailableException(
+                    "Upstream " + operation + " calls are failing, try again later.", breaker.getRetryAfterSeconds());
+        }
+        Bulkhead bulkhead = bulkheads.get(operation);
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            breaker.onIgnored(permit);
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while waiting for an upstream slot.");
+        }
+        if (!acquired) {
+            breaker.onIgnored(permit);
+            throw new ServiceUnavailableException("Too many concurrent upstream " + operation + " calls.", 1);
+        }
+        try {
+            T result = call.get();
+            breaker.onSuccess(permit);
+            return result;
+        } catch (RuntimeException e) {
+            if (isFailure(e)) {
+                breaker.onFailure(permit);
+            } else if (e instanceof TooManyRequestsException) {
+                breaker.onIgnored(permit);
+            } else {
+                breaker.onSuccess(permit);
+            }
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    CircuitBreaker.State getState(Operation operation) {
+        return breakers.get(operation).getState();
+    }
+
+    private static boolean isFailure(RuntimeException e) {
+        return e instanceof HttpServerErrorException
+                || e instanceof ResourceAccessException
+                || (e instanceof HttpClientErrorException clientError
+                        && clientError.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,100 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Upstream call metrics. As a {@code RestTemplate} interceptor it times every request until its response headers
+ * arrive, tagged by method, route and status class ({@code 2xx}, {@code 304}, {@code 404}, {@code 429}, {@code 4xx},
+ * {@code 5xx} or {@code IO_ERROR}). {@link #recordParse} adds the time spent decoding response bodies and their size.
+ *
+ * <p>Percentiles and histogram buckets are configured per meter name under {@code management.metrics.distribution}.
+ */
+@Component
+public class UpstreamMetrics implements ClientHttpRequestInterceptor {
+
+    /** Path segments under the employee resource that name a route rather than an employee id. */
+    private static final Set<String> ROUTES = Set.of("page", "stream", "changes");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> parseTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> payloadSizes = new ConcurrentHashMap<>();
+
+    public UpstreamMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = statusClass(response.getStatusCode().value());
+            return response;
+        } finally {
+            Timer.builder("upstream.requests")
+                    .description("Upstream HTTP requests, until the response headers arrived")
+                    .tag("method", request.getMethod().name())
+                    .tag("uri", route(request.getURI().getPath()))
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Records decoding a response body of the given kind, e.g. {@code employee} or {@code list}. A negative size is
+     * not recorded.
+     */
+    public void recordParse(String payload, long elapsedNanos, long bytes) {
+        parseTimers
+                .computeIfAbsent(payload, kind -> Timer.builder("upstream.parse")
+                        .description("Time spent decoding upstream response bodies")
+                        .tag("payload", kind)
+                        .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (bytes >= 0) {
+            payloadSizes
+                    .computeIfAbsent(payload, kind -> DistributionSummary.builder("upstream.payload.size")
+                            .description("Size of upstream response bodies")
+                            .baseUnit("bytes")
+                            .tag("payload", kind)
+                            .register(meterRegistry))
+                    .record(bytes);
+        }
+    }
+
+    static String statusClass(int status) {
+        if (status == 304 || status == 404 || status == 429) {
+            return String.valueOf(status);
+        }
+        return status / 100 + "xx";
+    }
+
+    // Collapses employee ids so the uri tag stays low-cardinality, e.g. /api/v1/employee/{id}.
+    static String route(String path) {
+        int resource = path.indexOf("/employee");
+        if (resource < 0) {
+            return path;
+        }
+        int routeStart = resource + "/employee".length();
+        if (routeStart >= path.length() - 1) {
+            return path.substring(0, routeStart);
+        }
+        String segment = path.substring(routeStart + 1);
+        return path.substring(0, routeStart) + "/" + (ROUTES.contains(segment) ? segment : "{id}");
+    }
+}
@@ -0,0 +1,251 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Gates every upstream request through an adaptive token bucket.
+ *
+ * <p>The bucket's rate grows additively with each successful request and is halved on every 429, so it converges on
+ * the budget the upstream actually grants. A 429 also pauses all requests until its {@code Retry-After} (or a jittered
+ * exponential backoff) has passed. Waiting requests are admitted by {@link Priority}, then in arrival order, and
+ * requests that could not be admitted within the configured wait are rejected with a
+ * {@link TooManyRequestsException}.
+ */
+@Component
+public class UpstreamScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamScheduler.class);
+
+    /** Admission priority, highest first. */
+    public enum Priority {
+        WRITE,
+        LOOKUP,
+        /** Full list loads; the cache serves stale data meanwhile, so these are never retried. */
+        REFRESH
+    }
+
+    private final double minRate;
+    private final double maxRate;
+    private final double rateIncrease;
+    private final double burst;
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition admitted = lock.newCondition();
+    private final PriorityQueue<Waiter> waiters =
+            new PriorityQueue<>(Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::sequence));
+    // All guarded by lock.
+    private long sequence;
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long throttledUntilNanos = lastRefillNanos;
+
+    private final Timer throttleTimer;
+    private final Counter throttledResponses;
+    private final Counter retries;
+
+    public UpstreamScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${api.upstream.initial-rate:5}") double initialRate,
+            @Value("${api.upstream.min-rate:0.05}") double minRate,
+            @Value("${api.upstream.max-rate:50}") double maxRate,
+            @Value("${api.upstream.rate-increase:0.1}") double rateIncrease,
+            @Value("${api.upstream.burst:5}") double burst,
+            @Value("${api.upstream.max-retries:3}") int maxRetries,
+            @Value("${api.upstream.initial-backoff-ms:200}") long initialBackoffMillis,
+            @Value("${api.upstream.max-backoff-ms:5000}") long maxBackoffMillis,
+            @Value("${api.upstream.max-wait-ms:10000}") long maxWaitMillis) {
+        this.rate = initialRate;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.rateIncrease = rateIncrease;
+        this.burst = burst;
+        this.tokens = burst;
+        this.maxRetries = maxRetries;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+
+        this.throttleTimer = Timer.builder("upstream.scheduler.throttle")
+                .description("Time requests spent waiting for an upstream permit")
+                .register(meterRegistry);
+        this.throttledResponses = Counter.builder("upstream.scheduler.throttled")
+                .description("Upstream responses rejected with 429")
+                .register(meterRegistry);
+        this.retries = Counter.builder("upstream.scheduler.retries")
+                .description("Upstream requests retried after a 429")
+                .register(meterRegistry);
+        Gauge.builder("upstream.scheduler.queue.depth", this, UpstreamScheduler::getQueueDepth)
+                .description("Requests waiting for an upstream permit")
+                .register(meterRegistry);
+        Gauge.builder("upstream.scheduler.rate", this, UpstreamScheduler::getRate)
+                .description("Learned upstream request rate")
+                .baseUnit("requests/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} once a permit is available, retrying it with backoff when the upstream answers 429. The final
+     * 429 is rethrown once the retries for the priority are exhausted.
+     */
+    public <T> T execute(Priority priority, Supplier<T> call) {
+        int attempts = priority == Priority.REFRESH ? 1 : maxRetries + 1;
+        for (int attempt = 1; ; attempt++) {
+            acquire(priority);
+            try {
+                T result = call.get();
+                onSuccess();
+                return result;
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS) {
+                    onSuccess();
+                    throw e;
+                }
+                onThrottled(e.getResponseHeaders(), attempt);
+                if (attempt >= attempts) {
+                    throw e;
+                }
+                retries.increment();
+                logger.debug("Upstream rate limited {} request, retry {} of {}.", priority, attempt, maxRetries);
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(Priority priority) {
+        long start = System.nanoTime();
+        long deadline = start + maxWaitNanos;
+        lock.lock();
+        Waiter waiter = new Waiter(priority, sequence++);
+        waiters.add(waiter);
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                long waitNanos;
+                if (waiters.peek() != waiter) {
+                    waitNanos = deadline - now;
+                } else if (throttledUntilNanos - now > 0) {
+                    waitNanos = throttledUntilNanos - now;
+                } else if (tokens < 1) {
+                    waitNanos = (long) ((1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1));
+                } else {
+                    tokens -= 1;
+                    break;
+                }
+                long remainingNanos = deadline - now;
+                // Fail fast when even the head of the queue cannot be admitted before its deadline.
+                if (remainingNanos <= 0 || (waiters.peek() == waiter && waitNanos > remainingNanos)) {
+                    throw new TooManyRequestsException("Upstream request budget exhausted, try again later.");
+                }
+                admitted.awaitNanos(Math.min(waitNanos, remainingNanos));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while waiting for upstream permit.");
+        } finally {
+            waiters.remove(waiter);
+            admitted.signalAll();
+            lock.unlock();
+            throttleTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        tokens = Math.min(burst, tokens + elapsedSeconds * rate);
+        lastRefillNanos = now;
+    }
+
+    private void onSuccess() {
+        lock.lock();
+        try {
+            rate = Math.min(maxRate, rate + rateIncrease);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onThrottled(HttpHeaders headers, int attempt) {
+        throttledResponses.increment();
+        long pauseMillis = Math.max(retryAfterMillis(headers), jitteredBackoffMillis(attempt));
+        lock.lock();
+        try {
+            rate = Math.max(minRate, rate / 2);
+            tokens = 0;
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pauseMillis);
+            if (until - throttledUntilNanos > 0) {
+                throttledUntilNanos = until;
+            }
+            admitted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        logger.warn("Upstream returned 429, pausing for {} ms at {} requests/s.", pauseMillis, getRate());
+    }
+
+    // Full jitter: uniformly random up to the exponential backoff for this attempt.
+    private long jitteredBackoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static long retryAfterMillis(HttpHeaders headers) {
+        String retryAfter = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                long date = headers.getFirstDate(HttpHeaders.RETRY_AFTER);
+                return date < 0 ? 0 : Math.max(0, date - System.currentTimeMillis());
+            } catch (IllegalArgumentException invalidDate) {
+                return 0;
+            }
+        }
+    }
+
+    private record Waiter(Priority priority, long sequence) {}
+}
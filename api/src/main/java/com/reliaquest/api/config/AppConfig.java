@@ -1,14 +1,136 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.UpstreamMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
+    /*
+     * Bounded keep-alive pool for the upstream employee server. All upstream traffic goes to a single route, so the
+     * per-route limit is the total limit.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${api.http.max-connections:20}") int maxConnections,
+            @Value("${api.http.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${api.http.read-timeout-ms:10000}") long readTimeoutMillis,
+            @Value("${api.http.connection-ttl-ms:300000}") long connectionTtlMillis) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMillis))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "upstream").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /*
+     * Content compression is on by default in HttpClient 5: requests advertise gzip/deflate and compressed responses
+     * are decoded transparently.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            @Value("${api.http.connection-request-timeout-ms:2000}") long connectionRequestTimeoutMillis,
+            @Value("${api.http.read-timeout-ms:10000}") long readTimeoutMillis,
+            @Value("${api.http.keep-alive-ms:30000}") long keepAliveMillis) {
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMillis))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMillis))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient upstreamHttpClient, UpstreamMetrics upstreamMetrics) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(upstreamHttpClient));
+        restTemplate.getInterceptors().add(upstreamMetrics);
+        return restTemplate;
+    }
+
+    /*
+     * Downloads list pages concurrently when api.fetch.mode is paged; threads are only started once used.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor upstreamFetchExecutor(@Value("${api.fetch.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("upstream-fetch-");
+        return executor;
+    }
+
+    /*
+     * Sends the creates of a batch request concurrently. Bounds the number of batch writes in flight across all
+     * requests; items beyond the queue capacity are rejected. Must stay below the create bulkhead, or a running batch
+     * import could take every slot and turn single creates away.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor upstreamWriteExecutor(
+            @Value("${api.batch.concurrency:4}") int concurrency,
+            @Value("${api.batch.queue-capacity:10000}") int queueCapacity,
+            @Value("${api.upstream.bulkhead.create:8}") int createBulkhead) {
+        requireBelowBulkhead("api.batch.concurrency", concurrency, "api.upstream.bulkhead.create", createBulkhead);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upstream-write-");
+        return executor;
+    }
+
+    /*
+     * Looks up, concurrently, the ids of a batch get that the cached snapshot does not know. Must stay below the
+     * get-by-id bulkhead, for the same reason as the write pool.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor upstreamLookupExecutor(
+            @Value("${api.batch.lookup-concurrency:4}") int concurrency,
+            @Value("${api.batch.queue-capacity:10000}") int queueCapacity,
+            @Value("${api.upstream.bulkhead.get-by-id:8}") int getByIdBulkhead) {
+        requireBelowBulkhead(
+                "api.batch.lookup-concurrency", concurrency, "api.upstream.bulkhead.get-by-id", getByIdBulkhead);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upstream-lookup-");
+        return executor;
+    }
+
+    private static void requireBelowBulkhead(String property, int concurrency, String bulkheadProperty, int bulkhead) {
+        if (concurrency >= bulkhead) {
+            throw new IllegalStateException(String.format(
+                    "%s (%d) must be below %s (%d), so that batch requests leave room for single calls.",
+                    property, concurrency, bulkheadProperty, bulkhead));
+        }
     }
 }
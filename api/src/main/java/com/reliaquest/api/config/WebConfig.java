@@ -0,0 +1,37 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.controller.SnapshotETagInterceptor;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final List<String> EMPLOYEE_APIS = List.of("/api/v1/employee", "/api/v1/async/employee");
+
+    /*
+     * Routes answered from the cached snapshot. Lookups by id go to the upstream, so they are not versioned by it.
+     */
+    private static final List<String> SNAPSHOT_ROUTES = List.of(
+            "",
+            "/search",
+            "/search/*",
+            "/highestSalary",
+            "/topTenHighestEarningEmployeeNames",
+            "/topHighestEarningEmployeeNames",
+            "/stats/**");
+
+    private final SnapshotETagInterceptor snapshotETagInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(snapshotETagInterceptor)
+                .addPathPatterns(EMPLOYEE_APIS.stream()
+                        .flatMap(api -> SNAPSHOT_ROUTES.stream().map(route -> api + route))
+                        .toList());
+    }
+}
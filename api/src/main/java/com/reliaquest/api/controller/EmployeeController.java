@@ -1,14 +1,25 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.model.AgeBucket;
 import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
+import com.reliaquest.api.model.DeleteEmployeeResult;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SalaryStats;
+import com.reliaquest.api.model.TitleStats;
+import com.reliaquest.api.service.BatchEmployeeService;
 import com.reliaquest.api.service.IEmployeeService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -17,6 +28,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class EmployeeController implements IEmployeeController<EmployeeResponse, CreateEmployeeInput> {
 
     private final IEmployeeService employeeService;
+    private final BatchEmployeeService batchEmployeeService;
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 
     @Override
@@ -31,6 +43,15 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
         return ResponseEntity.ok(employeeService.getEmployeesByNameSearch(searchString));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeResponse>> getEmployeesByNameSearch(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit) {
+        logger.info("Searching for employees with name containing '{}' (offset {}, limit {}).", name, offset, limit);
+        return ResponseEntity.ok(employeeService.getEmployeesByNameSearch(name, offset, limit));
+    }
+
     @Override
     public ResponseEntity<EmployeeResponse> getEmployeeById(String id) {
         logger.info("Fetching employee by ID: {}", id);
@@ -49,15 +70,58 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
         return ResponseEntity.ok(employeeService.getTopTenHighestEarningEmployeeNames());
     }
 
+    @GetMapping("/topHighestEarningEmployeeNames")
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(@RequestParam(defaultValue = "10") int n) {
+        logger.info("Fetching top {} highest earning employee names.", n);
+        return ResponseEntity.ok(employeeService.getTopHighestEarningEmployeeNames(n));
+    }
+
+    @GetMapping("/stats/salary")
+    public ResponseEntity<SalaryStats> getSalaryStats() {
+        logger.info("Fetching salary statistics.");
+        return ResponseEntity.ok(employeeService.getSalaryStats());
+    }
+
+    @GetMapping("/stats/byTitle")
+    public ResponseEntity<List<TitleStats>> getTitleStats() {
+        logger.info("Fetching headcount by title.");
+        return ResponseEntity.ok(employeeService.getTitleStats());
+    }
+
+    @GetMapping("/stats/ageHistogram")
+    public ResponseEntity<List<AgeBucket>> getAgeHistogram(@RequestParam(defaultValue = "10") int bucketSize) {
+        logger.info("Fetching age histogram with bucket size {}.", bucketSize);
+        return ResponseEntity.ok(employeeService.getAgeHistogram(bucketSize));
+    }
+
     @Override
     public ResponseEntity<EmployeeResponse> createEmployee(CreateEmployeeInput employeeInput) {
         logger.info("Creating new employee: {}", employeeInput.getName());
         return ResponseEntity.ok(employeeService.createEmployee(employeeInput));
     }
 
+    @PostMapping("/byIds")
+    public ResponseEntity<List<EmployeeResponse>> getEmployeesByIds(@RequestBody List<String> ids) {
+        logger.info("Fetching {} employees by ID.", ids.size());
+        return ResponseEntity.ok(batchEmployeeService.getEmployeesByIds(ids));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<CreateEmployeeResult>> createEmployees(
+            @RequestBody List<CreateEmployeeInput> employeeInputs) {
+        logger.info("Creating {} employees.", employeeInputs.size());
+        return ResponseEntity.ok(batchEmployeeService.createEmployees(employeeInputs));
+    }
+
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         logger.info("Deleting employee with ID: {}", id);
         return ResponseEntity.ok(employeeService.deleteEmployeeById(id));
     }
+
+    @DeleteMapping
+    public ResponseEntity<List<DeleteEmployeeResult>> deleteEmployeesByIds(@RequestBody List<String> ids) {
+        logger.info("Deleting {} employees.", ids.size());
+        return ResponseEntity.ok(employeeService.deleteEmployeesByIds(ids));
+    }
 }
@@ -0,0 +1,49 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Tags GET responses computed from the cached employee snapshot with an ETag of the snapshot's version, and answers
+ * {@code If-None-Match} requests for the current version with 304 before the handler runs.
+ *
+ * <p>The tag is taken before the handler reads the snapshot, so it is never newer than the data it is sent with; a
+ * write landing in between only costs the caller one extra download. No tag is sent when the snapshot would first have
+ * to be reloaded.
+ */
+@Component
+public class SnapshotETagInterceptor implements HandlerInterceptor {
+
+    private final EmployeeCache employeeCache;
+    // Snapshot versions restart with the process.
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    public SnapshotETagInterceptor(EmployeeCache employeeCache) {
+        this.employeeCache = employeeCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        OptionalLong version = employeeCache.getServableVersion();
+        if (version.isEmpty()) {
+            return true;
+        }
+        String etag = "\"" + epoch + "-" + version.getAsLong() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return false;
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.exception;
+/**
+ * Exception thrown when a request cannot be carried out without affecting a resource other than the one it names.
+ */
+public class ConflictException extends ApiException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
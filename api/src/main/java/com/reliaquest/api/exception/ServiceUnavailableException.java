@@ -0,0 +1,20 @@
+package com.reliaquest.api.exception;
+
+/**
+ * Exception thrown when an upstream call is refused locally, because its circuit breaker is open or its bulkhead is
+ * full, instead of being attempted.
+ */
+public class ServiceUnavailableException extends ApiException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /** Seconds after which a retry may succeed, or 0 if unknown. */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,10 @@
+package com.reliaquest.api.exception;
+
+/**
+ * Exception thrown when the API rejects a request because its rate limit was exceeded.
+ */
+public class TooManyRequestsException extends ApiException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
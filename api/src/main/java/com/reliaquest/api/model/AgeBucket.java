@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Number of employees aged {@code fromAge} to {@code toAge}, inclusive. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgeBucket {
+    private int fromAge;
+    private int toAge;
+    private int count;
+}
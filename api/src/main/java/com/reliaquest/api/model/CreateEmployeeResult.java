@@ -0,0 +1,24 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateEmployeeResult {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+    /** Position of the input in the request batch. */
+    private int index;
+
+    private Status status;
+    private EmployeeResponse employee;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeleteEmployeeResult {
+
+    public enum Status {
+        DELETED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private String id;
+    private Status status;
+    private String message;
+}
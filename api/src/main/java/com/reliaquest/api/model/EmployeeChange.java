@@ -0,0 +1,23 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    private long sequence;
+    private Type type;
+    private String id;
+
+    /** The created employee; null for deletes. */
+    private EmployeeResponse employee;
+}
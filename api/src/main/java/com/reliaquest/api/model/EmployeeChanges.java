@@ -0,0 +1,19 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChanges {
+    private String epoch;
+
+    /** The upstream sequence reached once {@link #changes} are applied. */
+    private long latest;
+
+    private boolean hasMore;
+    private List<EmployeeChange> changes;
+}
@@ -0,0 +1,22 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Salary distribution of all employees. Percentiles use the nearest-rank method; all values but the count are null
+ * when there are no employees.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryStats {
+    private int count;
+    private Integer min;
+    private Integer max;
+    private Double average;
+    private Integer median;
+    private Integer p90;
+    private Integer p99;
+}
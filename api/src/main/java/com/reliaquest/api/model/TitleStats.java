@@ -0,0 +1,14 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TitleStats {
+    private String title;
+    private int headcount;
+    private double averageSalary;
+}
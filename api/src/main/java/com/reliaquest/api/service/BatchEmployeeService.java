@@ -0,0 +1,244 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.exception.NotFoundException;
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.exception.ValidationException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
+import com.reliaquest.api.model.CreateEmployeeResult.Status;
+import com.reliaquest.api.model.EmployeeResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Batch operations. Lookups by id are answered from the cached snapshot, with only the ids it does not know looked up
+ * upstream, concurrently on the {@code api.batch.lookup-concurrency} threads of the upstream lookup pool.
+ *
+ * <p>For batch creates, the whole batch is validated before anything is sent; the creates are then submitted
+ * concurrently on the {@code api.batch.concurrency} threads of the upstream write pool, each still going through the
+ * upstream scheduler and circuit breaker, so the batch keeps as many requests in flight as the rate limit allows.
+ * Failures, including items the write pool's queue has no room for, are reported per item instead of aborting the
+ * batch, and the cache is patched once when it completes.
+ */
+@Service
+public class BatchEmployeeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchEmployeeService.class);
+
+    private final ApiClient apiClient;
+    private final EmployeeCache employeeCache;
+    private final Validator validator;
+    private final Executor upstreamWriteExecutor;
+    private final Executor upstreamLookupExecutor;
+    private final int maxBatchSize;
+    private final Timer createTimer;
+    private final Timer lookupTimer;
+
+    public BatchEmployeeService(
+            ApiClient apiClient,
+            EmployeeCache employeeCache,
+            Validator validator,
+            MeterRegistry meterRegistry,
+            @Qualifier("upstreamWriteExecutor") Executor upstreamWriteExecutor,
+            @Qualifier("upstreamLookupExecutor") Executor upstreamLookupExecutor,
+            @Value("${api.batch.max-size:1000}") int maxBatchSize) {
+        this.apiClient = apiClient;
+        this.employeeCache = employeeCache;
+        this.validator = validator;
+        this.upstreamWriteExecutor = upstreamWriteExecutor;
+        this.upstreamLookupExecutor = upstreamLookupExecutor;
+        this.maxBatchSize = maxBatchSize;
+        this.createTimer = timer(meterRegistry, "createEmployees");
+        this.lookupTimer = timer(meterRegistry, "getEmployeesByIds");
+    }
+
+    /**
+     * Returns the employees with the given ids, in the order first requested, skipping duplicates and unknown ids. Ids
+     * missing from the snapshot, e.g. employees created elsewhere since the last refresh, are looked up upstream; a
+     * lookup failing for any reason other than the employee not existing fails the request.
+     */
+    public List<EmployeeResponse> getEmployeesByIds(List<String> ids) {
+        return lookupTimer.record(() -> {
+            logger.info("Fetching {} employees by ID.", ids == null ? 0 : ids.size());
+            if (ids == null || ids.isEmpty()) {
+                throw new ValidationException("At least one employee ID is required.");
+            }
+            if (ids.size() > maxBatchSize) {
+                throw new ValidationException(
+                        "At most " + maxBatchSize + " employees can be fetched at once: " + ids.size());
+            }
+            Set<String> uniqueIds = new LinkedHashSet<>(ids);
+            Map<String, EmployeeResponse> found = new LinkedHashMap<>();
+            Map<String, CompletableFuture<Optional<EmployeeResponse>>> misses = new LinkedHashMap<>();
+            EmployeeSnapshot snapshot = employeeCache.getSnapshot();
+            for (String id : uniqueIds) {
+                if (id == null) {
+                    continue;
+                }
+                Optional<EmployeeResponse> cached = snapshot.findById(id);
+                if (cached.isPresent()) {
+                    found.put(id, cached.get());
+                } else {
+                    misses.put(id, CompletableFuture.supplyAsync(() -> lookup(id), upstreamLookupExecutor));
+                }
+            }
+            if (!misses.isEmpty()) {
+                logger.debug(
+                        "{} of {} employees not in the snapshot, looking them up.", misses.size(), uniqueIds.size());
+            }
+
+            List<EmployeeResponse> result = new ArrayList<>(uniqueIds.size());
+            for (String id : uniqueIds) {
+                EmployeeResponse employee = found.get(id);
+                if (employee == null && misses.containsKey(id)) {
+                    employee = join(misses.get(id)).orElse(null);
+                }
+                if (employee != null) {
+                    result.add(employee);
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Creates every employee of the batch and returns one result per input, in input order. Throws a
+     * {@link ValidationException} listing every invalid input, without creating any, if the batch does not validate.
+     */
+    public List<CreateEmployeeResult> createEmployees(List<CreateEmployeeInput> inputs) {
+        return createTimer.record(() -> {
+            logger.info("Creating {} employees.", inputs == null ? 0 : inputs.size());
+            validate(inputs);
+
+            List<CompletableFuture<CreateEmployeeResult>> futures = new ArrayList<>(inputs.size());
+            for (int i = 0; i < inputs.size(); i++) {
+                int index = i;
+                CreateEmployeeInput input = inputs.get(i);
+                futures.add(submitCreate(input).handle((created, error) -> result(index, created, error)));
+            }
+
+            List<CreateEmployeeResult> results = new ArrayList<>(futures.size());
+            List<EmployeeResponse> created = new ArrayList<>();
+            for (CompletableFuture<CreateEmployeeResult> future : futures) {
+                CreateEmployeeResult result = future.join();
+                results.add(result);
+                if (result.getStatus() == Status.CREATED) {
+                    created.add(result.getEmployee());
+                }
+            }
+            employeeCache.applyCreated(created);
+            logger.info("Created {} of {} employees.", created.size(), inputs.size());
+            return results;
+        });
+    }
+
+    /*
+     * The write pool's queue is shared by all running batches, so it can fill up partway through one. The items it
+     * turns away fail on their own; the creates already submitted still run and must reach the results and the cache.
+     */
+    private CompletableFuture<EmployeeResponse> submitCreate(CreateEmployeeInput input) {
+        try {
+            return CompletableFuture.supplyAsync(() -> apiClient.createEmployee(input), upstreamWriteExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new ServiceUnavailableException("Too many batch creates queued, employee was not created.", 0));
+        }
+    }
+
+    // Malformed ids are rejected upstream with a 400; like unknown ids they cannot match an employee.
+    private Optional<EmployeeResponse> lookup(String id) {
+        try {
+            return Optional.ofNullable(apiClient.getEmployeeById(id));
+        } catch (NotFoundException | ValidationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ApiException("Failed to fetch employee: " + e.getMessage());
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("employee.service")
+                .description("Time spent in EmployeeService operations")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private void validate(List<CreateEmployeeInput> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            throw new ValidationException("At least one employee is required.");
+        }
+        if (inputs.size() > maxBatchSize) {
+            throw new ValidationException(
+                    "At most " + maxBatchSize + " employees can be created at once: " + inputs.size());
+        }
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            CreateEmployeeInput input = inputs.get(i);
+            if (input == null) {
+                errors.add("[" + i + "] employee is required");
+                continue;
+            }
+            int index = i;
+            validator.validate(input).stream()
+                    .sorted(Comparator.comparing(
+                            violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> "[" + index + "] " + describe(violation))
+                    .forEach(errors::add);
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Invalid batch, no employees were created: "
+                    + errors.stream().collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static String describe(ConstraintViolation<CreateEmployeeInput> violation) {
+        return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+
+    private static CreateEmployeeResult result(int index, EmployeeResponse created, Throwable error) {
+        if (error == null) {
+            return new CreateEmployeeResult(index, Status.CREATED, created, null);
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ValidationException) {
+            return new CreateEmployeeResult(index, Status.INVALID, null, cause.getMessage());
+        }
+        if (!(cause instanceof ApiException)) {
+            logger.warn("Unexpected failure creating employee {} of the batch.", index, cause);
+        }
+        return new CreateEmployeeResult(index, Status.FAILED, null, cause.getMessage());
+    }
+}
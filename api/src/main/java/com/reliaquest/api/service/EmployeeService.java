@@ -1,11 +1,29 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeSnapshot;
 import com.reliaquest.api.client.ApiClient;
 import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.exception.ConflictException;
+import com.reliaquest.api.exception.NotFoundException;
+import com.reliaquest.api.exception.ValidationException;
+import com.reliaquest.api.model.AgeBucket;
 import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeeResult;
+import com.reliaquest.api.model.DeleteEmployeeResult.Status;
 import com.reliaquest.api.model.EmployeeResponse;
-import java.util.Comparator;
+import com.reliaquest.api.model.SalaryStats;
+import com.reliaquest.api.model.TitleStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -17,57 +35,206 @@ import org.springframework.stereotype.Service;
 public class EmployeeService implements IEmployeeService {
 
     private final ApiClient apiClient;
+    private final EmployeeCache employeeCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
 
     @Override
     public List<EmployeeResponse> getAllEmployees() {
-        logger.info("Fetching all employees from API.");
-        return apiClient.getAllEmployees();
+        return timed("getAllEmployees", () -> {
+            logger.info("Fetching all employees from cache.");
+            return employeeCache.getEmployees();
+        });
     }
 
     @Override
     public List<EmployeeResponse> getEmployeesByNameSearch(String searchString) {
-        logger.info("Filtering employees by name containing '{}'.", searchString);
-        return apiClient.getAllEmployees().stream()
-                .filter(e -> e.getEmployeeName().toLowerCase().contains(searchString.toLowerCase()))
-                .collect(Collectors.toList());
+        return timed("getEmployeesByNameSearch", () -> {
+            logger.info("Filtering employees by name containing '{}'.", searchString);
+            return employeeCache.getSnapshot().searchByName(searchString, 0, Integer.MAX_VALUE);
+        });
+    }
+
+    @Override
+    public List<EmployeeResponse> getEmployeesByNameSearch(String searchString, int offset, int limit) {
+        return timed("getEmployeesByNameSearch", () -> {
+            logger.info(
+                    "Filtering employees by name containing '{}' (offset {}, limit {}).", searchString, offset, limit);
+            if (offset < 0) {
+                throw new ValidationException("Offset must not be negative: " + offset);
+            }
+            if (limit <= 0) {
+                throw new ValidationException("Limit must be positive: " + limit);
+            }
+            return employeeCache.getSnapshot().searchByName(searchString, offset, limit);
+        });
     }
 
     @Override
     public EmployeeResponse getEmployeeById(String id) {
-        logger.info("Fetching employee by ID: {}", id);
-        return apiClient.getEmployeeById(id);
+        return timed("getEmployeeById", () -> {
+            logger.info("Fetching employee by ID: {}", id);
+            return apiClient.getEmployeeById(id);
+        });
     }
 
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        logger.info("Fetching highest salary of employees.");
-        return apiClient.getAllEmployees().stream()
-                .mapToInt(EmployeeResponse::getEmployeeSalary)
-                .max()
-                .orElseThrow(() -> new ApiException("No employees found."));
+        return timed("getHighestSalaryOfEmployees", () -> {
+            logger.info("Fetching highest salary of employees.");
+            return employeeCache
+                    .getSnapshot()
+                    .highestSalary()
+                    .orElseThrow(() -> new ApiException("No employees found."));
+        });
     }
 
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        logger.info("Fetching top 10 highest earning employees.");
-        return apiClient.getAllEmployees().stream()
-                .sorted(Comparator.comparingInt(EmployeeResponse::getEmployeeSalary)
-                        .reversed())
-                .limit(10)
-                .map(EmployeeResponse::getEmployeeName)
-                .collect(Collectors.toList());
+        return timed("getTopTenHighestEarningEmployeeNames", () -> {
+            logger.info("Fetching top 10 highest earning employees.");
+            return topEarnerNames(10);
+        });
+    }
+
+    @Override
+    public List<String> getTopHighestEarningEmployeeNames(int n) {
+        return timed("getTopHighestEarningEmployeeNames", () -> {
+            logger.info("Fetching top {} highest earning employees.", n);
+            if (n <= 0) {
+                throw new ValidationException("Number of employees must be positive: " + n);
+            }
+            return topEarnerNames(n);
+        });
+    }
+
+    @Override
+    public SalaryStats getSalaryStats() {
+        return timed("getSalaryStats", () -> {
+            logger.info("Fetching salary statistics.");
+            return employeeCache.getSnapshot().salaryStats();
+        });
+    }
+
+    @Override
+    public List<TitleStats> getTitleStats() {
+        return timed("getTitleStats", () -> {
+            logger.info("Fetching headcount by title.");
+            return employeeCache.getSnapshot().titleStats();
+        });
+    }
+
+    @Override
+    public List<AgeBucket> getAgeHistogram(int bucketSize) {
+        return timed("getAgeHistogram", () -> {
+            logger.info("Fetching age histogram with bucket size {}.", bucketSize);
+            if (bucketSize <= 0) {
+                throw new ValidationException("Bucket size must be positive: " + bucketSize);
+            }
+            return employeeCache.getSnapshot().ageHistogram(bucketSize);
+        });
     }
 
     @Override
     public EmployeeResponse createEmployee(CreateEmployeeInput input) {
-        logger.info("Creating a new employee with name '{}'.", input.getName());
-        return apiClient.createEmployee(input);
+        return timed("createEmployee", () -> {
+            logger.info("Creating a new employee with name '{}'.", input.getName());
+            EmployeeResponse created = apiClient.createEmployee(input);
+            employeeCache.applyCreated(created);
+            return created;
+        });
     }
 
+    /**
+     * Deletes an employee, resolving the name the upstream deletes by from the cached snapshot and only looking the
+     * employee up upstream when the cache does not know the id. Refused with a {@link ConflictException} when the
+     * cache knows an older employee with the same name, which the upstream would delete instead.
+     */
     @Override
     public String deleteEmployeeById(String id) {
-        logger.info("Deleting employee with ID: {}", id);
-        return apiClient.deleteEmployeeById(id);
+        return timed("deleteEmployeeById", () -> {
+            logger.info("Deleting employee with ID: {}", id);
+            EmployeeResponse employee = employeeCache.findCached(id).orElseGet(() -> apiClient.getEmployeeById(id));
+            if (employee == null) {
+                throw new NotFoundException("Employee with ID " + id + " not found.");
+            }
+            requireFirstWithName(employee, employeeCache.findFirstCachedByName(employee.getEmployeeName()));
+            String result = apiClient.deleteEmployeeByName(employee.getEmployeeName());
+            employeeCache.applyDeleted(id);
+            return result;
+        });
+    }
+
+    /**
+     * Deletes several employees. Names are resolved from one snapshot; ids it does not know, e.g. employees created
+     * elsewhere since the last refresh, are looked up upstream one by one. An id is only reported
+     * {@link Status#NOT_FOUND} once the upstream has said so; failures, including lookups that could not be made and
+     * employees sharing their name with an older one, are reported per id as {@link Status#FAILED} instead of aborting
+     * the batch.
+     */
+    @Override
+    public List<DeleteEmployeeResult> deleteEmployeesByIds(List<String> ids) {
+        return timed("deleteEmployeesByIds", () -> {
+            logger.info("Deleting {} employees.", ids == null ? 0 : ids.size());
+            if (ids == null || ids.isEmpty()) {
+                throw new ValidationException("At least one employee ID is required.");
+            }
+            Set<String> uniqueIds = new LinkedHashSet<>(ids);
+            EmployeeSnapshot snapshot = employeeCache.getSnapshot();
+
+            List<DeleteEmployeeResult> results = new ArrayList<>(uniqueIds.size());
+            for (String id : uniqueIds) {
+                try {
+                    Optional<EmployeeResponse> employee = snapshot.findById(id);
+                    if (employee.isEmpty()) {
+                        logger.debug("Employee {} not in the snapshot, looking it up.", id);
+                        employee = Optional.ofNullable(apiClient.getEmployeeById(id));
+                    }
+                    if (employee.isEmpty()) {
+                        results.add(new DeleteEmployeeResult(
+                                id, Status.NOT_FOUND, "Employee with ID " + id + " not found."));
+                        continue;
+                    }
+                    String name = employee.get().getEmployeeName();
+                    requireFirstWithName(employee.get(), snapshot.findFirstByName(name));
+                    results.add(new DeleteEmployeeResult(id, Status.DELETED, apiClient.deleteEmployeeByName(name)));
+                    employeeCache.applyDeleted(id);
+                } catch (NotFoundException e) {
+                    results.add(new DeleteEmployeeResult(id, Status.NOT_FOUND, e.getMessage()));
+                } catch (ApiException e) {
+                    results.add(new DeleteEmployeeResult(id, Status.FAILED, e.getMessage()));
+                }
+            }
+            return results;
+        });
+    }
+
+    /*
+     * The upstream deletes the oldest employee with a given name. Snapshots keep its insertion order and an employee
+     * they do not know is newer than all they do, so deleting by name only removes this employee if the snapshot knows
+     * no other employee with the name before it.
+     */
+    private static void requireFirstWithName(EmployeeResponse employee, Optional<EmployeeResponse> first) {
+        if (first.isPresent() && !first.get().getId().equals(employee.getId())) {
+            throw new ConflictException("Employee " + employee.getId() + " shares the name '"
+                    + employee.getEmployeeName() + "' with the older employee "
+                    + first.get().getId()
+                    + ", which the upstream would delete instead.");
+        }
+    }
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        return timers.computeIfAbsent(operation, name -> Timer.builder("employee.service")
+                        .description("Time spent in EmployeeService operations")
+                        .tag("operation", name)
+                        .register(meterRegistry))
+                .record(call);
+    }
+
+    private List<String> topEarnerNames(int n) {
+        return employeeCache.getSnapshot().topEarners(n).stream()
+                .map(EmployeeResponse::getEmployeeName)
+                .collect(Collectors.toList());
     }
 }
@@ -8,13 +8,25 @@ public interface IEmployeeService {
 
     List<EmployeeResponse> getEmployeesByNameSearch(String searchString);
 
+    List<EmployeeResponse> getEmployeesByNameSearch(String searchString, int offset, int limit);
+
     EmployeeResponse getEmployeeById(String id);
 
     Integer getHighestSalaryOfEmployees();
 
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    List<String> getTopHighestEarningEmployeeNames(int n);
+
+    SalaryStats getSalaryStats();
+
+    List<TitleStats> getTitleStats();
+
+    List<AgeBucket> getAgeHistogram(int bucketSize);
+
     EmployeeResponse createEmployee(CreateEmployeeInput input);
 
     String deleteEmployeeById(String id);
+
+    List<DeleteEmployeeResult> deleteEmployeesByIds(List<String> ids);
 }
@@ -0,0 +1,129 @@
+package com.reliaquest.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.EmployeeResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ColumnarEmployeesTest {
+
+    private List<EmployeeResponse> employees;
+    private ColumnarEmployees columnar;
+
+    @BeforeEach
+    public void setup() {
+        employees = List.of(
+                new EmployeeResponse(
+                        "0b6f8f44-0f5c-4c8a-9d57-2c1f3b0a4d11", "Abhay K", 50000, 30, "SE", "abhay@company.com"),
+                new EmployeeResponse("2", "Jane Doé", 60000, 41, "Manager", "jane@company.com"),
+                new EmployeeResponse("0B6F8F44-0F5C-4C8A-9D57-2C1F3B0A4D12", "Sam Roe", 50000, 40, "SE", null));
+        columnar = ColumnarEmployees.copyOf(employees);
+    }
+
+    @Test
+    public void testCopyOf_roundTripsEveryField() {
+        assertThat(columnar).containsExactlyElementsOf(employees);
+        assertThat(columnar.salaryAt(1)).isEqualTo(60000);
+        assertThat(columnar.nameAt(1)).isEqualTo("Jane Doé");
+    }
+
+    @Test
+    public void testCopyOf_keepsEmptyStringsApartFromNulls() {
+        List<EmployeeResponse> sparse = List.of(
+                new EmployeeResponse("", "", 0, 0, "", ""),
+                new EmployeeResponse("1", null, 0, 0, null, null),
+                new EmployeeResponse("0b6f8f44-0f5c-4c8a-9d57-2c1f3b0a4d13", "", 1, 1, "", null));
+
+        ColumnarEmployees sparseColumnar = ColumnarEmployees.copyOf(sparse);
+
+        for (int i = 0; i < sparse.size(); i++) {
+            assertThat(sparseColumnar.get(i)).isEqualTo(sparse.get(i));
+        }
+        assertThat(sparseColumnar.nameAt(0)).isEmpty();
+        assertThat(sparseColumnar.nameAt(1)).isNull();
+        assertThat(sparseColumnar.indexOf("")).isZero();
+        ColumnarEmployees changed = sparseColumnar.withRemoved(1).withAppended(sparse.get(1));
+        assertThat(changed).containsExactly(sparse.get(0), sparse.get(2), sparse.get(1));
+    }
+
+    @Test
+    public void testIndexOf_findsUuidAndRawIds() {
+        assertThat(columnar.indexOf("0b6f8f44-0f5c-4c8a-9d57-2c1f3b0a4d11")).isZero();
+        assertThat(columnar.indexOf("2")).isEqualTo(1);
+        // Not canonical, so kept verbatim rather than as two longs.
+        assertThat(columnar.indexOf("0B6F8F44-0F5C-4C8A-9D57-2C1F3B0A4D12")).isEqualTo(2);
+        assertThat(columnar.indexOf("0b6f8f44-0f5c-4c8a-9d57-2c1f3b0a4d12")).isEqualTo(-1);
+        assertThat(columnar.indexOf("missing")).isEqualTo(-1);
+    }
+
+    @Test
+    public void testWithAppendedAndWithRemoved_leaveOriginalUntouched() {
+        EmployeeResponse hire = new EmployeeResponse("4", "New Hire", 70000, 25, "Director", "hire@company.com");
+
+        ColumnarEmployees appended = columnar.withAppended(hire);
+        ColumnarEmployees removed = appended.withRemoved(1);
+
+        assertThat(appended).containsExactly(employees.get(0), employees.get(1), employees.get(2), hire);
+        assertThat(removed).containsExactly(employees.get(0), employees.get(2), hire);
+        assertThat(removed.indexOf("4")).isEqualTo(2);
+        assertThat(removed.indexOf("2")).isEqualTo(-1);
+        assertThat(columnar).containsExactlyElementsOf(employees);
+    }
+
+    @Test
+    public void testWithRemoved_removesSeveralRowsInOnePass() {
+        List<EmployeeResponse> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(new EmployeeResponse(
+                    i % 2 == 0 ? UUID.randomUUID().toString() : "raw-" + i,
+                    "Employee " + i,
+                    1000 * i,
+                    20 + i,
+                    i % 3 == 0 ? null : "Title " + (i % 3),
+                    "e" + i + "@company.com"));
+        }
+        ColumnarEmployees list = ColumnarEmployees.copyOf(rows);
+
+        ColumnarEmployees removed = list.withRemoved(new int[] {0, 3, 4, 9});
+
+        assertThat(removed)
+                .containsExactly(rows.get(1), rows.get(2), rows.get(5), rows.get(6), rows.get(7), rows.get(8));
+        assertThat(removed.indexOf(rows.get(5).getId())).isEqualTo(2);
+        assertThat(removed.indexOf(rows.get(0).getId())).isEqualTo(-1);
+        assertThat(removed.withAppended(rows.get(0))).endsWith(rows.get(0));
+        assertThat(list).containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    public void testSnapshot_behavesLikeRowSnapshot() {
+        List<EmployeeResponse> rows = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            rows.add(new EmployeeResponse(
+                    UUID.randomUUID().toString(), "Employee " + i, i * 7 % 1_000, 30, "T" + i % 10, i + "@c.com"));
+        }
+        EmployeeSnapshot rowSnapshot = EmployeeSnapshot.of(rows, 1, 0);
+        EmployeeSnapshot columnarSnapshot = EmployeeSnapshot.of(ColumnarEmployees.copyOf(rows), 1, 0);
+        EmployeeResponse hire = new EmployeeResponse(UUID.randomUUID().toString(), "Employee X", 999, 30, "T1", null);
+
+        assertThat(columnarSnapshot.topEarners(20)).isEqualTo(rowSnapshot.topEarners(20));
+        assertThat(columnarSnapshot.searchByName("ee 12", 0, 50)).isEqualTo(rowSnapshot.searchByName("ee 12", 0, 50));
+        assertThat(columnarSnapshot.findById(rows.get(500).getId())).contains(rows.get(500));
+        assertThat(columnarSnapshot.salaryStats()).isEqualTo(rowSnapshot.salaryStats());
+        assertThat(columnarSnapshot.titleStats()).isEqualTo(rowSnapshot.titleStats());
+        assertThat(columnarSnapshot.ageHistogram(10)).isEqualTo(rowSnapshot.ageHistogram(10));
+
+        EmployeeSnapshot rowPatched =
+                rowSnapshot.withEmployee(hire, 2).withoutEmployee(rows.get(3).getId(), 3);
+        EmployeeSnapshot columnarPatched = columnarSnapshot
+                .withEmployee(hire, 2)
+                .withoutEmployee(rows.get(3).getId(), 3);
+        assertThat(columnarPatched.getEmployees()).isInstanceOf(ColumnarEmployees.class);
+        assertThat(columnarPatched.getEmployees()).isEqualTo(rowPatched.getEmployees());
+        assertThat(columnarPatched.topEarners(5)).isEqualTo(rowPatched.topEarners(5));
+        assertThat(columnarPatched.findById(rows.get(3).getId())).isEmpty();
+    }
+}
@@ -0,0 +1,405 @@
+package com.reliaquest.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.client.ChangeCursor;
+import com.reliaquest.api.client.ConditionalFetch;
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeCacheTest {
+
+    private static final long TTL_MS = 1_000;
+    private static final long BACKOFF_MS = 5_000;
+
+    @Mock
+    private ApiClient apiClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeCache employeeCache;
+    private List<EmployeeResponse> employees;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeCache = new EmployeeCache(apiClient, meterRegistry, TTL_MS, BACKOFF_MS, false, true);
+        employees = List.of(
+                new EmployeeResponse("1", "Abhay K", 50000, 30, "SE", "abhay@company.com"),
+                new EmployeeResponse("2", "Jane Doe", 60000, 30, "SE", "jane@company.com"));
+        setTime(0);
+    }
+
+    @Test
+    public void testGetSnapshot_servesFromCacheWithinTtl() {
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(upstream(employees));
+
+        EmployeeSnapshot first = employeeCache.getSnapshot();
+        setTime(TTL_MS - 1);
+        EmployeeSnapshot second = employeeCache.getSnapshot();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getEmployees()).hasSize(2);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(1);
+        verify(apiClient, times(1)).streamAllEmployees(any(), any());
+    }
+
+    @Test
+    public void testGetSnapshot_reloadsAfterTtl() {
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(upstream(employees));
+
+        EmployeeSnapshot first = employeeCache.getSnapshot();
+        setTime(TTL_MS);
+        EmployeeSnapshot second = employeeCache.getSnapshot();
+
+        assertThat(second.getVersion()).isGreaterThan(first.getVersion());
+        assertThat(requests("miss")).isEqualTo(2);
+        verify(apiClient, times(2)).streamAllEmployees(any(), any());
+    }
+
+    @Test
+    public void testGetSnapshot_coalescesConcurrentMisses() throws Exception {
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(invocation -> {
+            fetchStarted.countDown();
+            releaseFetch.await(5, TimeUnit.SECONDS);
+            return upstream(employees).answer(invocation);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<EmployeeSnapshot>> results = new ArrayList<>();
+            results.add(executor.submit(employeeCache::getSnapshot));
+            assertThat(fetchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(employeeCache::getSnapshot));
+            }
+            while (meterRegistry
+                            .counter("upstream.singleflight.collapsed", "operation", "getAllEmployees")
+                            .count()
+                    < 7) {
+                Thread.sleep(5);
+            }
+            releaseFetch.countDown();
+
+            EmployeeSnapshot expected = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<EmployeeSnapshot> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(apiClient, times(1)).streamAllEmployees(any(), any());
+    }
+
+    @Test
+    public void testGetSnapshot_servesStaleDuringBackoff() {
+        when(apiClient.streamAllEmployees(any(), any()))
+                .thenAnswer(upstream(employees))
+                .thenThrow(new TooManyRequestsException("Rate limit exceeded: 429 TOO_MANY_REQUESTS"));
+
+        EmployeeSnapshot first = employeeCache.getSnapshot();
+        setTime(TTL_MS);
+        EmployeeSnapshot rateLimited = employeeCache.getSnapshot();
+        setTime(TTL_MS + BACKOFF_MS - 1);
+        EmployeeSnapshot backingOff = employeeCache.getSnapshot();
+
+        assertThat(rateLimited).isSameAs(first);
+        assertThat(backingOff).isSameAs(first);
+        assertThat(requests("stale")).isEqualTo(2);
+        assertThat(employeeCache.getAgeMillis()).isEqualTo(TTL_MS + BACKOFF_MS - 1);
+        verify(apiClient, times(2)).streamAllEmployees(any(), any());
+    }
+
+    @Test
+    public void testGetSnapshot_servesStaleWhileCircuitOpen() {
+        when(apiClient.streamAllEmployees(any(), any()))
+                .thenAnswer(upstream(employees))
+                .thenThrow(new ServiceUnavailableException("Upstream LIST calls are failing, try again later.", 10));
+
+        EmployeeSnapshot first = employeeCache.getSnapshot();
+        setTime(TTL_MS);
+
+        assertThat(employeeCache.getSnapshot()).isSameAs(first);
+        assertThat(requests("stale")).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetSnapshot_rateLimitedWithoutSnapshot() {
+        when(apiClient.streamAllEmployees(any(), any()))
+                .thenThrow(new TooManyRequestsException("Rate limit exceeded: 429 TOO_MANY_REQUESTS"));
+
+        assertThatExceptionOfType(TooManyRequestsException.class).isThrownBy(() -> employeeCache.getSnapshot());
+    }
+
+    @Test
+    public void testRefresh_skippedDuringBackoff() {
+        when(apiClient.streamAllEmployees(any(), any()))
+                .thenThrow(new TooManyRequestsException("Rate limit exceeded: 429 TOO_MANY_REQUESTS"));
+
+        employeeCache.refresh();
+        setTime(BACKOFF_MS - 1);
+        employeeCache.refresh();
+
+        verify(apiClient, times(1)).streamAllEmployees(any(), any());
+    }
+
+    @Test
+    public void testApplyCreated_patchesSnapshotWithoutReload() {
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(upstream(employees));
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+        EmployeeResponse created = new EmployeeResponse("3", "New Hire", 70000, 25, "SE", "new@company.com");
+
+        employeeCache.applyCreated(created);
+        EmployeeSnapshot patched = employeeCache.getSnapshot();
+
+        assertThat(patched.getVersion()).isGreaterThan(loaded.getVersion());
+        assertThat(patched.getEmployees()).containsExactly(employees.get(0), employees.get(1), created);
+        assertThat(loaded.getEmployees()).hasSize(2);
+        verify(apiClient, times(1)).streamAllEmployees(any(), any());
+    }
+
+    @Test
+    public void testApplyDeleted_patchesSnapshotWithoutReload() {
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(upstream(employees));
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+
+        employeeCache.applyDeleted("1");
+        EmployeeSnapshot patched = employeeCache.getSnapshot();
+
+        assertThat(patched.getVersion()).isGreaterThan(loaded.getVersion());
+        assertThat(patched.getEmployees()).containsExactly(employees.get(1));
+        verify(apiClient, times(1)).streamAllEmployees(any(), any());
+    }
+
+    @Test
+    public void testApply_replaysWritesMadeDuringLoad() {
+        EmployeeResponse created = new EmployeeResponse("3", "New Hire", 70000, 25, "SE", "new@company.com");
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(invocation -> {
+            employeeCache.applyCreated(created);
+            employeeCache.applyDeleted("1");
+            return upstream(employees).answer(invocation);
+        });
+
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+
+        assertThat(loaded.getEmployees()).containsExactly(employees.get(1), created);
+    }
+
+    @Test
+    public void testApplyCreatedBatch_replayedIfMadeDuringLoad() {
+        EmployeeResponse first = new EmployeeResponse("3", "New Hire", 70000, 25, "SE", "new@company.com");
+        EmployeeResponse second = new EmployeeResponse("4", "Other Hire", 40000, 35, "SE", "other@company.com");
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(invocation -> {
+            employeeCache.applyCreated(List.of(first, second));
+            return upstream(employees).answer(invocation);
+        });
+
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+        employeeCache.applyCreated(List.of());
+
+        assertThat(loaded.getEmployees()).containsExactly(employees.get(0), employees.get(1), first, second);
+        assertThat(employeeCache.getSnapshot()).isSameAs(loaded);
+    }
+
+    @Test
+    public void testGetSnapshot_columnarStreamsIntoColumns() {
+        employeeCache = new EmployeeCache(apiClient, meterRegistry, TTL_MS, BACKOFF_MS, true, true);
+        setTime(0);
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(upstream(employees));
+
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+        employeeCache.applyDeleted("1");
+
+        assertThat(loaded.getEmployees()).isInstanceOf(ColumnarEmployees.class).containsExactlyElementsOf(employees);
+        assertThat(employeeCache.getSnapshot().getEmployees()).containsExactly(employees.get(1));
+    }
+
+    @Test
+    public void testGetSnapshot_revalidatesWithETag() {
+        when(apiClient.streamAllEmployees(any(), any()))
+                .thenAnswer(upstream(employees))
+                .thenReturn(new ConditionalFetch(false, "\"v2\"", 0));
+
+        EmployeeSnapshot first = employeeCache.getSnapshot();
+        setTime(TTL_MS);
+        EmployeeSnapshot revalidated = employeeCache.getSnapshot();
+
+        assertThat(revalidated.getVersion()).isEqualTo(first.getVersion());
+        assertThat(revalidated.getEmployees()).isSameAs(first.getEmployees());
+        assertThat(employeeCache.getAgeMillis()).isZero();
+        assertThat(meterRegistry
+                        .counter("employee.cache.revalidations", "result", "not_modified")
+                        .count())
+                .isEqualTo(1);
+        verify(apiClient).streamAllEmployees(eq(null), any());
+        verify(apiClient).streamAllEmployees(eq("\"v2\""), any());
+    }
+
+    @Test
+    public void testGetSnapshot_notModifiedKeepsLocalWrites() {
+        EmployeeResponse created = new EmployeeResponse("3", "New Hire", 70000, 25, "SE", "new@company.com");
+        when(apiClient.streamAllEmployees(any(), any()))
+                .thenAnswer(upstream(employees))
+                .thenReturn(new ConditionalFetch(false, "\"v2\"", 0));
+
+        employeeCache.getSnapshot();
+        employeeCache.applyCreated(created);
+        setTime(TTL_MS);
+
+        assertThat(employeeCache.getSnapshot().getEmployees())
+                .containsExactly(employees.get(0), employees.get(1), created);
+    }
+
+    @Test
+    public void testGetServableVersion_onlyWhileServedWithoutLoading() {
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(upstream(employees));
+        assertThat(employeeCache.getServableVersion()).isEmpty();
+
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+        assertThat(employeeCache.getServableVersion()).hasValue(loaded.getVersion());
+
+        setTime(TTL_MS);
+        assertThat(employeeCache.getServableVersion()).isEmpty();
+    }
+
+    @Test
+    public void testGetSnapshot_appliesUpstreamChanges() {
+        EmployeeResponse created = new EmployeeResponse("3", "New Hire", 70000, 25, "SE", "new@company.com");
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(upstream(employees, "\"e1-5\""));
+        when(apiClient.getChangesSince(new ChangeCursor("e1", 5)))
+                .thenReturn(Optional.of(new EmployeeChanges(
+                        "e1",
+                        7,
+                        false,
+                        List.of(
+                                new EmployeeChange(6, EmployeeChange.Type.CREATED, "3", created),
+                                new EmployeeChange(7, EmployeeChange.Type.DELETED, "1", null)))));
+        when(apiClient.getChangesSince(new ChangeCursor("e1", 7)))
+                .thenReturn(Optional.of(new EmployeeChanges("e1", 7, false, List.of())));
+
+        EmployeeSnapshot first = employeeCache.getSnapshot();
+        setTime(TTL_MS);
+        EmployeeSnapshot changed = employeeCache.getSnapshot();
+        setTime(2 * TTL_MS);
+        EmployeeSnapshot unchanged = employeeCache.getSnapshot();
+
+        assertThat(changed.getVersion()).isGreaterThan(first.getVersion());
+        assertThat(changed.getEmployees()).containsExactly(employees.get(1), created);
+        assertThat(unchanged.getVersion()).isEqualTo(changed.getVersion());
+        assertThat(employeeCache.getAgeMillis()).isZero();
+        assertThat(revalidations("delta")).isEqualTo(2);
+        assertThat(meterRegistry.counter("employee.cache.delta.changes").count())
+                .isEqualTo(2);
+        verify(apiClient, times(1)).streamAllEmployees(any(), any());
+    }
+
+    @Test
+    public void testGetSnapshot_reloadsWhenChangesExpired() {
+        when(apiClient.streamAllEmployees(any(), any()))
+                .thenAnswer(upstream(employees, "\"e1-5\""))
+                .thenAnswer(upstream(employees.subList(1, 2), "\"e2-0\""));
+        when(apiClient.getChangesSince(new ChangeCursor("e1", 5))).thenReturn(Optional.empty());
+
+        employeeCache.getSnapshot();
+        setTime(TTL_MS);
+        EmployeeSnapshot reloaded = employeeCache.getSnapshot();
+
+        assertThat(reloaded.getEmployees()).containsExactly(employees.get(1));
+        assertThat(revalidations("delta_expired")).isEqualTo(1);
+        verify(apiClient).streamAllEmployees(eq("\"e1-5\""), any());
+    }
+
+    @Test
+    public void testGetSnapshot_changesDoNotUndoLocalWrites() {
+        EmployeeResponse created = new EmployeeResponse("3", "New Hire", 70000, 25, "SE", "new@company.com");
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(upstream(employees, "\"e1-5\""));
+        // The feed was read before the local delete of the employee it reports as created.
+        when(apiClient.getChangesSince(new ChangeCursor("e1", 5))).thenAnswer(invocation -> {
+            employeeCache.applyDeleted("3");
+            return Optional.of(new EmployeeChanges(
+                    "e1", 6, false, List.of(new EmployeeChange(6, EmployeeChange.Type.CREATED, "3", created))));
+        });
+
+        employeeCache.getSnapshot();
+        setTime(TTL_MS);
+
+        assertThat(employeeCache.getSnapshot().getEmployees()).containsExactlyElementsOf(employees);
+    }
+
+    @Test
+    public void testGetSnapshot_fullReloadsWithoutChangeCursor() {
+        employeeCache = new EmployeeCache(apiClient, meterRegistry, TTL_MS, BACKOFF_MS, false, false);
+        setTime(0);
+        when(apiClient.streamAllEmployees(any(), any())).thenAnswer(upstream(employees, "\"e1-5\""));
+
+        employeeCache.getSnapshot();
+        setTime(TTL_MS);
+        employeeCache.getSnapshot();
+
+        verify(apiClient, times(2)).streamAllEmployees(any(), any());
+        verify(apiClient, never()).getChangesSince(any());
+    }
+
+    // Answers a list request with the given employees, tagged with an ETag of the list size.
+    private static Answer<ConditionalFetch> upstream(List<EmployeeResponse> employees) {
+        return upstream(employees, "\"v" + employees.size() + "\"");
+    }
+
+    private static Answer<ConditionalFetch> upstream(List<EmployeeResponse> employees, String etag) {
+        return invocation -> {
+            Consumer<EmployeeResponse> consumer = invocation.getArgument(1);
+            employees.forEach(consumer);
+            return new ConditionalFetch(true, etag, employees.size());
+        };
+    }
+
+    private double revalidations(String result) {
+        return meterRegistry
+                .counter("employee.cache.revalidations", "result", result)
+                .count();
+    }
+
+    private double requests(String result) {
+        return meterRegistry
+                .counter("employee.cache.requests", "result", result)
+                .count();
+    }
+
+    private void setTime(long millis) {
+        ReflectionTestUtils.setField(employeeCache, "clock", Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,256 @@
+package com.reliaquest.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.AgeBucket;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SalaryStats;
+import com.reliaquest.api.model.TitleStats;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeSnapshotTest {
+
+    private EmployeeResponse abhay;
+    private EmployeeResponse jane;
+    private EmployeeResponse sam;
+    private EmployeeSnapshot snapshot;
+
+    @BeforeEach
+    public void setup() {
+        abhay = new EmployeeResponse("1", "Abhay K", 50000, 30, "SE", "abhay@company.com");
+        jane = new EmployeeResponse("2", "Jane Doe", 60000, 30, "SE", "jane@company.com");
+        sam = new EmployeeResponse("3", "Sam Roe", 50000, 40, "SE", "sam@company.com");
+        snapshot = EmployeeSnapshot.of(List.of(abhay, jane, sam), 1, 0);
+    }
+
+    @Test
+    public void testTopEarners_ordersBySalaryThenSnapshotOrder() {
+        assertThat(snapshot.highestSalary()).hasValue(60000);
+        assertThat(snapshot.topEarners(10)).containsExactly(jane, abhay, sam);
+        assertThat(snapshot.topEarners(1)).containsExactly(jane);
+    }
+
+    @Test
+    public void testTopEarners_emptySnapshot() {
+        EmployeeSnapshot empty = EmployeeSnapshot.of(List.of(), 1, 0);
+
+        assertThat(empty.highestSalary()).isEmpty();
+        assertThat(empty.topEarners(10)).isEmpty();
+    }
+
+    @Test
+    public void testWithEmployee_updatesSalaryIndex() {
+        EmployeeResponse top = new EmployeeResponse("4", "Top Earner", 90000, 50, "VP", "top@company.com");
+        EmployeeResponse tied = new EmployeeResponse("5", "Tied Earner", 50000, 50, "SE", "tied@company.com");
+
+        EmployeeSnapshot patched = snapshot.withEmployee(top, 2).withEmployee(tied, 3);
+
+        assertThat(patched.highestSalary()).hasValue(90000);
+        assertThat(patched.topEarners(10)).containsExactly(top, jane, abhay, sam, tied);
+        assertThat(snapshot.topEarners(10)).containsExactly(jane, abhay, sam);
+    }
+
+    @Test
+    public void testWithChanges_appliesInOrderAndSkipsKnownChanges() {
+        EmployeeResponse top = new EmployeeResponse("4", "Top Earner", 90000, 50, "VP", "top@company.com");
+        EmployeeResponse shortLived =
+                new EmployeeResponse("5", "Short Lived", 10000, 20, "Intern", "short@company.com");
+
+        EmployeeSnapshot changed = snapshot.withChanges(
+                List.of(
+                        new EmployeeChange(4, EmployeeChange.Type.CREATED, "2", jane),
+                        new EmployeeChange(5, EmployeeChange.Type.CREATED, "4", top),
+                        new EmployeeChange(6, EmployeeChange.Type.DELETED, "1", null),
+                        new EmployeeChange(7, EmployeeChange.Type.CREATED, "5", shortLived),
+                        new EmployeeChange(8, EmployeeChange.Type.DELETED, "5", null),
+                        new EmployeeChange(9, EmployeeChange.Type.DELETED, "6", null)),
+                2);
+
+        assertThat(changed.getVersion()).isEqualTo(2);
+        assertThat(changed.getEmployees()).containsExactly(jane, sam, top);
+        assertThat(changed.topEarners(10)).containsExactly(top, jane, sam);
+        assertThat(changed.salaryStats().getCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void testWithoutEmployees_removesInOneCopy() {
+        EmployeeResponse top = new EmployeeResponse("4", "Top Earner", 90000, 50, "VP", "top@company.com");
+        for (EmployeeSnapshot base : List.of(
+                snapshot.withEmployee(top, 2),
+                EmployeeSnapshot.of(ColumnarEmployees.copyOf(List.of(abhay, jane, sam, top)), 2, 0))) {
+            // Builds the id map, so the copy of it is exercised too.
+            assertThat(base.findById("4")).hasValue(top);
+            EmployeeSnapshot removed = base.withoutEmployees(Set.of("1", "4", "9"), 3);
+
+            assertThat(removed.getVersion()).isEqualTo(3);
+            assertThat(removed.getEmployees()).containsExactly(jane, sam);
+            assertThat(removed.topEarners(10)).containsExactly(jane, sam);
+            assertThat(removed.findById("4")).isEmpty();
+            assertThat(removed.salaryStats().getCount()).isEqualTo(2);
+            assertThat(removed.titleStats()).containsExactly(new TitleStats("SE", 2, 55000.0));
+            assertThat(base.getEmployees()).hasSize(4);
+        }
+    }
+
+    @Test
+    public void testWithChanges_unchangedReturnsSameSnapshot() {
+        EmployeeSnapshot changed = snapshot.withChanges(
+                List.of(
+                        new EmployeeChange(4, EmployeeChange.Type.CREATED, "1", abhay),
+                        new EmployeeChange(5, EmployeeChange.Type.DELETED, "9", null)),
+                2);
+
+        assertThat(changed).isSameAs(snapshot);
+    }
+
+    @Test
+    public void testWithEmployees_mergesIntoSalaryIndex() {
+        EmployeeResponse tied = new EmployeeResponse("4", "Tied Earner", 50000, 50, "SE", "tied@company.com");
+        EmployeeResponse top = new EmployeeResponse("5", "Top Earner", 90000, 50, "VP", "top@company.com");
+        EmployeeResponse low = new EmployeeResponse("6", "Low Earner", 10000, 20, "Intern", "low@company.com");
+
+        EmployeeSnapshot patched = snapshot.withEmployees(List.of(tied, top, low), 2);
+
+        assertThat(patched.getVersion()).isEqualTo(2);
+        assertThat(patched.getEmployees()).containsExactly(abhay, jane, sam, tied, top, low);
+        assertThat(patched.topEarners(10)).containsExactly(top, jane, abhay, sam, tied, low);
+        assertThat(patched.findById("6")).contains(low);
+        assertThat(patched.searchByName("earner", 0, 10)).containsExactly(tied, top, low);
+        assertThat(patched.salaryStats())
+                .isEqualTo(snapshot.withEmployee(tied, 2)
+                        .withEmployee(top, 3)
+                        .withEmployee(low, 4)
+                        .salaryStats());
+        assertThat(snapshot.topEarners(10)).containsExactly(jane, abhay, sam);
+    }
+
+    @Test
+    public void testWithEmployees_columnar() {
+        EmployeeSnapshot columnar = EmployeeSnapshot.of(ColumnarEmployees.copyOf(List.of(abhay, jane, sam)), 1, 0);
+        EmployeeResponse top = new EmployeeResponse("4", "Top Earner", 90000, 50, "VP", "top@company.com");
+
+        EmployeeSnapshot patched = columnar.withEmployees(List.of(top), 2);
+
+        assertThat(patched.getEmployees()).containsExactly(abhay, jane, sam, top);
+        assertThat(patched.topEarners(2)).containsExactly(top, jane);
+        assertThat(patched.findById("4")).contains(top);
+    }
+
+    @Test
+    public void testWithoutEmployee_updatesSalaryIndex() {
+        EmployeeSnapshot patched = snapshot.withoutEmployee("2", 2);
+
+        assertThat(patched.getVersion()).isEqualTo(2);
+        assertThat(patched.highestSalary()).hasValue(50000);
+        assertThat(patched.topEarners(10)).containsExactly(abhay, sam);
+        assertThat(patched.withoutEmployee("1", 3).topEarners(10)).containsExactly(sam);
+    }
+
+    @Test
+    public void testWithoutEmployee_unknownId() {
+        assertThat(snapshot.withoutEmployee("missing", 2)).isSameAs(snapshot);
+    }
+
+    @Test
+    public void testFindById_followsWrites() {
+        EmployeeResponse hire = new EmployeeResponse("4", "New Hire", 70000, 25, "SE", "hire@company.com");
+
+        assertThat(snapshot.findById("2")).contains(jane);
+        EmployeeSnapshot patched = snapshot.withEmployee(hire, 2).withoutEmployee("2", 3);
+
+        assertThat(patched.findById("4")).contains(hire);
+        assertThat(patched.findById("2")).isEmpty();
+        assertThat(snapshot.findById("2")).contains(jane);
+        assertThat(snapshot.findById("missing")).isEmpty();
+    }
+
+    @Test
+    public void testSearchByName_matchesSubstringIgnoringCase() {
+        assertThat(snapshot.searchByName("JANE d", 0, 10)).containsExactly(jane);
+        assertThat(snapshot.searchByName("E", 0, 10)).containsExactly(jane, sam);
+        assertThat(snapshot.searchByName("", 0, 10)).containsExactly(abhay, jane, sam);
+        assertThat(snapshot.searchByName("xyz", 0, 10)).isEmpty();
+        assertThat(snapshot.searchByName("Doe Abhay", 0, 10)).isEmpty();
+    }
+
+    @Test
+    public void testSearchByName_pagesInSnapshotOrder() {
+        EmployeeSnapshot large = EmployeeSnapshot.of(
+                List.of(
+                        new EmployeeResponse("1", "Anna Smith", 1, 20, "SE", "a@company.com"),
+                        new EmployeeResponse("2", "Bob Stone", 1, 20, "SE", "b@company.com"),
+                        new EmployeeResponse("3", "Hannah Smithers", 1, 20, "SE", "c@company.com"),
+                        new EmployeeResponse("4", "Smith Jones", 1, 20, "SE", "d@company.com")),
+                1,
+                0);
+
+        assertThat(large.searchByName("smith", 0, 2))
+                .extracting(EmployeeResponse::getId)
+                .containsExactly("1", "3");
+        assertThat(large.searchByName("smith", 2, 2))
+                .extracting(EmployeeResponse::getId)
+                .containsExactly("4");
+    }
+
+    @Test
+    public void testSearchByName_followsWrites() {
+        assertThat(snapshot.searchByName("roe", 0, 10)).containsExactly(sam);
+        EmployeeResponse hire = new EmployeeResponse("4", "Rose Roemer", 40000, 25, "SE", "rose@company.com");
+
+        EmployeeSnapshot appended = snapshot.withEmployee(hire, 2);
+        EmployeeSnapshot removed = appended.withoutEmployee("3", 3);
+
+        assertThat(appended.searchByName("roe", 0, 10)).containsExactly(sam, hire);
+        assertThat(removed.searchByName("roe", 0, 10)).containsExactly(hire);
+        assertThat(snapshot.searchByName("roe", 0, 10)).containsExactly(sam);
+    }
+
+    @Test
+    public void testFindFirstByName_matchesWholeNameIgnoringCaseInSnapshotOrder() {
+        EmployeeResponse namesake = new EmployeeResponse("4", "ABHAY K", 40000, 25, "SE", "abhay2@company.com");
+        EmployeeSnapshot appended = snapshot.withEmployee(namesake, 2);
+
+        assertThat(appended.findFirstByName("abhay k")).contains(abhay);
+        assertThat(appended.withoutEmployee("1", 3).findFirstByName("Abhay K")).contains(namesake);
+        assertThat(appended.findFirstByName("Abhay")).isEmpty();
+        assertThat(appended.findFirstByName("Ja")).isEmpty();
+    }
+
+    @Test
+    public void testSalaryStats_nearestRankPercentiles() {
+        SalaryStats stats = snapshot.salaryStats();
+
+        assertThat(stats).isEqualTo(new SalaryStats(3, 50000, 60000, 160000 / 3.0, 50000, 60000, 60000));
+        assertThat(EmployeeSnapshot.of(List.of(), 1, 0).salaryStats())
+                .isEqualTo(new SalaryStats(0, null, null, null, null, null, null));
+    }
+
+    @Test
+    public void testStats_maintainedAcrossWrites() {
+        EmployeeResponse vp = new EmployeeResponse("4", "Vee Pee", 90000, 52, "VP", "vp@company.com");
+
+        EmployeeSnapshot patched = snapshot.withEmployee(vp, 2).withoutEmployee("2", 3);
+        EmployeeSnapshot rebuilt = EmployeeSnapshot.of(patched.getEmployees(), 3, 0);
+
+        assertThat(patched.salaryStats()).isEqualTo(rebuilt.salaryStats());
+        assertThat(patched.salaryStats().getAverage()).isEqualTo(190000 / 3.0);
+        assertThat(patched.titleStats())
+                .containsExactly(new TitleStats("SE", 2, 50000), new TitleStats("VP", 1, 90000))
+                .isEqualTo(rebuilt.titleStats());
+        assertThat(patched.ageHistogram(10))
+                .containsExactly(new AgeBucket(30, 39, 1), new AgeBucket(40, 49, 1), new AgeBucket(50, 59, 1))
+                .isEqualTo(rebuilt.ageHistogram(10));
+        assertThat(snapshot.withoutEmployee("4", 4).titleStats())
+                .containsExactly(new TitleStats("SE", 3, 160000 / 3.0));
+    }
+
+    @Test
+    public void testAgeHistogram_bucketWidths() {
+        assertThat(snapshot.ageHistogram(1)).containsExactly(new AgeBucket(30, 30, 2), new AgeBucket(40, 40, 1));
+        assertThat(snapshot.ageHistogram(100)).containsExactly(new AgeBucket(0, 99, 3));
+    }
+}
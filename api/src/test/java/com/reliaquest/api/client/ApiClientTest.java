@@ -5,35 +5,51 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.exception.ApiException;
 import com.reliaquest.api.exception.NotFoundException;
 import com.reliaquest.api.exception.ServerErrorException;
+import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.exception.ValidationException;
 import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.api.model.ResponseWrapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootTest
@@ -46,6 +62,26 @@ class ApiClientTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Spy
+    private EmployeeStreamReader employeeStreamReader =
+            new EmployeeStreamReader(Jackson2ObjectMapperBuilder.json().build());
+
+    @Spy
+    private UpstreamScheduler upstreamScheduler =
+            new UpstreamScheduler(new SimpleMeterRegistry(), 1_000, 1, 1_000, 0, 1_000, 0, 1, 1, 1_000);
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+
+    @Mock
+    private PagedEmployeeFetcher pagedEmployeeFetcher;
+
+    @Spy
+    private UpstreamMetrics upstreamMetrics = new UpstreamMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private UpstreamGuard upstreamGuard = new UpstreamGuard(new SimpleMeterRegistry(), 5, 10_000, 1, 2, 8, 4, 4, 100);
+
     @InjectMocks
     private ApiClient apiClient;
 
@@ -63,27 +99,112 @@ class ApiClientTest {
     }
 
     @Test
-    void testGetAllEmployees() throws Exception {
-        EmployeeResponse employeeResponse =
-                new EmployeeResponse("1", "John Doe", 50000, 30, "Developer", "john@company.com");
-        ResponseWrapper<List<EmployeeResponse>> responseWrapper =
-                new ResponseWrapper<>(List.of(employeeResponse), "Success");
+    void testStreamAllEmployees() throws Exception {
+        String jsonResponse = "{\"status\":\"Success\",\"data\":["
+                + "{\"id\":\"1\",\"employee_name\":\"John Doe\",\"employee_salary\":50000,\"employee_age\":30,\"employee_title\":\"Developer\",\"employee_email\":\"john@company.com\"},"
+                + "{\"id\":\"2\",\"employee_name\":\"Jane Doe\",\"employee_salary\":60000,\"employee_age\":40,\"employee_title\":\"Manager\",\"employee_email\":\"jane@company.com\"}]}";
+        givenListResponse(jsonResponse);
+        List<String> names = new ArrayList<>();
+
+        int count = apiClient.streamAllEmployees(employee -> names.add(employee.getEmployeeName()));
+
+        assertEquals(2, count);
+        assertEquals(List.of("John Doe", "Jane Doe"), names);
+        verify(objectMapper, never()).readValue(any(String.class), any(TypeReference.class));
+    }
 
-        String jsonResponse =
-                "{\"data\":[{\"id\":\"1\",\"employee_name\":\"John Doe\",\"employee_salary\":50000,\"employee_age\":30,\"employee_title\":\"Developer\",\"employee_email\":\"john@company.com\"}]}";
-        when(restTemplate.getForEntity(any(String.class), eq(String.class)))
-                .thenReturn(ResponseEntity.ok(jsonResponse));
+    @Test
+    void testStreamAllEmployeesConditional() {
+        String jsonResponse = "{\"status\":\"Success\",\"data\":["
+                + "{\"id\":\"1\",\"employee_name\":\"John Doe\",\"employee_salary\":50000,\"employee_age\":30,\"employee_title\":\"Developer\",\"employee_email\":\"john@company.com\"}]}";
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        givenListResponse(request, () -> {
+            MockClientHttpResponse response =
+                    new MockClientHttpResponse(jsonResponse.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+            response.getHeaders().setETag("\"v2\"");
+            return response;
+        });
+
+        ConditionalFetch fetch = apiClient.streamAllEmployees("\"v1\"", employee -> {});
+
+        assertEquals(new ConditionalFetch(true, "\"v2\"", 1), fetch);
+        assertEquals(List.of("\"v1\""), request.getHeaders().getIfNoneMatch());
+    }
 
-        when(objectMapper.readValue(any(String.class), eq(ApiClient.LIST_EMPLOYEE_RESPONSE)))
-                .thenReturn(responseWrapper);
+    @Test
+    void testStreamAllEmployeesNotModified() {
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        givenListResponse(request, () -> new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED));
+        List<EmployeeResponse> consumed = new ArrayList<>();
 
-        List<EmployeeResponse> result = apiClient.getAllEmployees();
+        ConditionalFetch fetch = apiClient.streamAllEmployees("\"v1\"", consumed::add);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("John Doe", result.get(0).getEmployeeName());
+        assertEquals(new ConditionalFetch(false, "\"v1\"", 0), fetch);
+        assertEquals(List.of(), consumed);
+    }
+
+    @Test
+    void testStreamAllEmployeesPaged() {
+        EmployeeResponse employee = new EmployeeResponse("1", "John Doe", 50000, 30, "Developer", "john@company.com");
+        when(pagedEmployeeFetcher.isEnabled()).thenReturn(true);
+        when(pagedEmployeeFetcher.fetchAll(any())).thenAnswer(invocation -> {
+            Consumer<EmployeeResponse> consumer = invocation.getArgument(0);
+            consumer.accept(employee);
+            return 1;
+        });
+
+        List<EmployeeResponse> result = new ArrayList<>();
+
+        int count = apiClient.streamAllEmployees(result::add);
+
+        assertEquals(1, count);
+        assertEquals(List.of(employee), result);
+        verify(restTemplate, never())
+                .execute(
+                        any(String.class),
+                        any(HttpMethod.class),
+                        any(RequestCallback.class),
+                        any(ResponseExtractor.class));
+    }
+
+    @Test
+    void testStreamAllEmployeesMalformedResponse() {
+        givenListResponse("[]");
+
+        ApiException exception = assertThrows(ApiException.class, () -> apiClient.streamAllEmployees(employee -> {}));
+        assertEquals(
+                "Failed to fetch data: Error parsing API response: expected a JSON object", exception.getMessage());
+    }
+
+    @Test
+    void testGetChangesSinceFollowsPages() throws Exception {
+        EmployeeResponse created = new EmployeeResponse("3", "New Hire", 70000, 25, "Developer", "new@company.com");
+        EmployeeChange first = new EmployeeChange(6, EmployeeChange.Type.CREATED, "3", created);
+        EmployeeChange second = new EmployeeChange(7, EmployeeChange.Type.DELETED, "1", null);
+        when(restTemplate.getForEntity(eq(baseUrl + "/changes?since=5&epoch=e1"), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("first"));
+        when(restTemplate.getForEntity(eq(baseUrl + "/changes?since=6&epoch=e1"), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("second"));
+        when(objectMapper.readValue(eq("first"), eq(ApiClient.CHANGES_RESPONSE)))
+                .thenReturn(new ResponseWrapper<>(new EmployeeChanges("e1", 6, true, List.of(first)), "Success"));
+        when(objectMapper.readValue(eq("second"), eq(ApiClient.CHANGES_RESPONSE)))
+                .thenReturn(new ResponseWrapper<>(new EmployeeChanges("e1", 9, false, List.of(second)), "Success"));
+
+        Optional<EmployeeChanges> result = apiClient.getChangesSince(new ChangeCursor("e1", 5));
+
+        assertEquals(Optional.of(new EmployeeChanges("e1", 9, false, List.of(first, second))), result);
+    }
+
+    @Test
+    void testGetChangesSinceGone() {
+        when(restTemplate.getForEntity(any(String.class), eq(String.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.GONE));
 
-        verify(objectMapper, times(1)).readValue(any(String.class), eq(ApiClient.LIST_EMPLOYEE_RESPONSE));
+        // As many as it takes to open the circuit if 410 counted as a failure.
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Optional.empty(), apiClient.getChangesSince(new ChangeCursor("e1", 5)));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, upstreamGuard.getState(UpstreamGuard.Operation.LIST));
     }
 
     @Test
@@ -132,25 +253,11 @@ class ApiClientTest {
     }
 
     @Test
-    void testDeleteEmployeeById() throws JsonProcessingException {
-
-        EmployeeResponse employeeResponse =
-                new EmployeeResponse("1", "John Doe", 50000, 30, "Developer", "john@company.com");
-        ResponseWrapper<EmployeeResponse> responseWrapper = new ResponseWrapper<>(employeeResponse, "Success");
-
-        String jsonResponse =
-                "{\"data\":{\"id\":\"1\",\"employee_name\":\"John Doe\",\"employee_salary\":50000,\"employee_age\":30,\"employee_title\":\"Developer\",\"employee_email\":\"john@company.com\"}}";
-        when(restTemplate.getForEntity(any(String.class), eq(String.class)))
-                .thenReturn(ResponseEntity.ok(jsonResponse));
-
-        when(objectMapper.readValue(any(String.class), eq(ApiClient.EMPLOYEE_RESPONSE)))
-                .thenReturn(responseWrapper);
-
-        doNothing().when(restTemplate).delete(any(String.class));
-
-        String result = apiClient.deleteEmployeeById("1");
+    void testDeleteEmployeeByName() {
+        String result = apiClient.deleteEmployeeByName("John Doe");
 
         assertEquals("Successfully deleted employee.", result);
+        verify(restTemplate).exchange(eq(baseUrl), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(String.class));
     }
 
     @Test
@@ -174,46 +281,60 @@ class ApiClientTest {
     }
 
     @Test
-    void testDeleteEmployeeByIdNotFound() {
-        when(restTemplate.getForEntity(any(String.class), eq(String.class)))
-                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+    void testDeleteEmployeeByNameNotFound() {
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null))
+                .when(restTemplate)
+                .exchange(any(String.class), eq(HttpMethod.DELETE), any(), eq(String.class));
 
-        NotFoundException exception = assertThrows(NotFoundException.class, () -> apiClient.deleteEmployeeById("1"));
-        assertEquals("Resource not found: 404 NOT_FOUND", exception.getMessage());
+        NotFoundException exception =
+                assertThrows(NotFoundException.class, () -> apiClient.deleteEmployeeByName("John Doe"));
+        assertEquals("Employee not found: 404 Not Found", exception.getMessage());
     }
 
     @Test
-    void testDeleteEmployeeByIdServerError() throws JsonProcessingException {
-        EmployeeResponse employeeResponse =
-                new EmployeeResponse("1", "John Doe", 50000, 30, "Developer", "john@company.com");
-        ResponseWrapper<EmployeeResponse> responseWrapper = new ResponseWrapper<>(employeeResponse, "Success");
-
-        String jsonResponse =
-                "{\"data\":{\"id\":\"1\",\"employee_name\":\"John Doe\",\"employee_salary\":50000,\"employee_age\":30,\"employee_title\":\"Developer\",\"employee_email\":\"john@company.com\"}}";
-        when(restTemplate.getForEntity(any(String.class), eq(String.class)))
-                .thenReturn(ResponseEntity.ok(jsonResponse));
-
-        when(objectMapper.readValue(any(String.class), eq(ApiClient.EMPLOYEE_RESPONSE)))
-                .thenReturn(responseWrapper);
-
+    void testDeleteEmployeeByNameServerError() {
         doThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR))
                 .when(restTemplate)
                 .exchange(any(String.class), eq(HttpMethod.DELETE), any(), eq(String.class));
 
         ServerErrorException exception =
-                assertThrows(ServerErrorException.class, () -> apiClient.deleteEmployeeById("1"));
+                assertThrows(ServerErrorException.class, () -> apiClient.deleteEmployeeByName("John Doe"));
         assertEquals("Server error while deleting employee: 500 INTERNAL_SERVER_ERROR", exception.getMessage());
     }
 
     @Test
     void testGetDataFromApiThrowsException() {
-        when(restTemplate.getForEntity(any(String.class), eq(String.class)))
+        when(restTemplate.execute(
+                        any(String.class),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        any(ResponseExtractor.class)))
                 .thenThrow(new RuntimeException("API error"));
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> apiClient.getAllEmployees());
+        RuntimeException exception =
+                assertThrows(RuntimeException.class, () -> apiClient.streamAllEmployees(employee -> {}));
         assertEquals("Failed to fetch data: API error", exception.getMessage());
 
-        verify(restTemplate, times(1)).getForEntity(any(String.class), eq(String.class));
+        verify(restTemplate, times(1))
+                .execute(
+                        any(String.class),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        any(ResponseExtractor.class));
+    }
+
+    @Test
+    void testStreamAllEmployeesRateLimited() {
+        when(restTemplate.execute(
+                        any(String.class),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        any(ResponseExtractor.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        TooManyRequestsException exception =
+                assertThrows(TooManyRequestsException.class, () -> apiClient.streamAllEmployees(employee -> {}));
+        assertEquals("Rate limit exceeded: 429 TOO_MANY_REQUESTS", exception.getMessage());
     }
 
     @Test
@@ -227,4 +348,31 @@ class ApiClientTest {
         ApiException exception = assertThrows(ApiException.class, () -> apiClient.getEmployeeById("1"));
         assertEquals("Failed to fetch data: Error parsing API response: Error parsing", exception.getMessage());
     }
+
+    private void givenListResponse(MockClientHttpRequest request, Supplier<MockClientHttpResponse> response) {
+        when(restTemplate.execute(
+                        any(String.class),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    RequestCallback callback = invocation.getArgument(2);
+                    callback.doWithRequest(request);
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(response.get());
+                });
+    }
+
+    private void givenListResponse(String json) {
+        when(restTemplate.execute(
+                        any(String.class),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(
+                            new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+                });
+    }
 }
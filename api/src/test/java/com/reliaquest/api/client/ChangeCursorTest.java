@@ -0,0 +1,24 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ChangeCursorTest {
+
+    @Test
+    void testFromETag_readsEpochAndSequence() {
+        assertThat(ChangeCursor.fromETag("\"1f2e3d-42\"")).isEqualTo(new ChangeCursor("1f2e3d", 42));
+        assertThat(ChangeCursor.fromETag("W/\"1f2e3d-0\"")).isEqualTo(new ChangeCursor("1f2e3d", 0));
+        assertThat(ChangeCursor.fromETag("\"a-b-7\"")).isEqualTo(new ChangeCursor("a-b", 7));
+    }
+
+    @Test
+    void testFromETag_otherFormats() {
+        assertThat(ChangeCursor.fromETag(null)).isNull();
+        assertThat(ChangeCursor.fromETag("\"v2\"")).isNull();
+        assertThat(ChangeCursor.fromETag("\"-7\"")).isNull();
+        assertThat(ChangeCursor.fromETag("\"epoch-x\"")).isNull();
+        assertThat(ChangeCursor.fromETag("epoch-7")).isNull();
+    }
+}
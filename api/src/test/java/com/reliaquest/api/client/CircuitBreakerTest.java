@@ -0,0 +1,122 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.client.CircuitBreaker.Permit;
+import com.reliaquest.api.client.CircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong nanos;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nanos = new AtomicLong();
+        breaker = new CircuitBreaker("list", 3, 1_000, 2, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        fail(2);
+        breaker.onSuccess(breaker.tryAcquire());
+        fail(2);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        fail(1);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.REJECTED);
+        assertThat(breaker.getRetryAfterSeconds()).isEqualTo(1);
+        assertThat(meterRegistry.get("upstream.circuit.rejected").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("upstream.circuit.state").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void testHalfOpenClosesAfterSuccessfulProbes() {
+        fail(3);
+        advance(1_000);
+
+        Permit first = breaker.tryAcquire();
+        Permit second = breaker.tryAcquire();
+
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(first).isEqualTo(Permit.PROBE);
+        assertThat(second).isEqualTo(Permit.PROBE);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.REJECTED);
+
+        breaker.onSuccess(first);
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        breaker.onSuccess(second);
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.CALL);
+        assertThat(transitions(State.CLOSED)).isEqualTo(1);
+    }
+
+    @Test
+    void testFailedProbeReopens() {
+        fail(3);
+        advance(1_000);
+
+        breaker.onFailure(breaker.tryAcquire());
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.REJECTED);
+        assertThat(transitions(State.OPEN)).isEqualTo(2);
+        assertThat(transitions(State.HALF_OPEN)).isEqualTo(1);
+    }
+
+    @Test
+    void testIgnoredProbeFreesItsSlot() {
+        fail(3);
+        advance(1_000);
+        breaker.tryAcquire();
+        Permit ignored = breaker.tryAcquire();
+
+        breaker.onIgnored(ignored);
+
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.PROBE);
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+    }
+
+    @Test
+    void testLateResultsDoNotAffectHalfOpenTrial() {
+        Permit slowCall = breaker.tryAcquire();
+        fail(3);
+        advance(1_000);
+        Permit probe = breaker.tryAcquire();
+
+        breaker.onFailure(slowCall);
+        breaker.onSuccess(slowCall);
+
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(probe).isEqualTo(Permit.PROBE);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.onFailure(breaker.tryAcquire());
+        }
+    }
+
+    private void advance(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private double transitions(State state) {
+        return meterRegistry
+                .get("upstream.circuit.transitions")
+                .tag("state", state.name())
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,228 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.PagedEmployeeFetcher.Mode;
+import com.reliaquest.api.model.EmployeeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class PagedEmployeeFetcherTest {
+
+    private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+    private static final int TOTAL = 5;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamMetrics upstreamMetrics = new UpstreamMetrics(meterRegistry);
+    private final Map<Integer, AtomicInteger> requestsByOffset = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private ExecutorService executor;
+    private PagedEmployeeFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        UpstreamScheduler scheduler =
+                new UpstreamScheduler(new SimpleMeterRegistry(), 1_000, 1, 1_000, 0, 1_000, 0, 1, 1, 1_000);
+        fetcher = new PagedEmployeeFetcher(
+                restTemplate, objectMapper, scheduler, upstreamMetrics, executor, BASE_URL, Mode.PAGED, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testFetchAll_assemblesPagesInOrder() {
+        givenPages(-1);
+        List<String> ids = new ArrayList<>();
+
+        int count = fetcher.fetchAll(employee -> ids.add(employee.getId()));
+
+        assertThat(count).isEqualTo(TOTAL);
+        assertThat(ids).containsExactly("0", "1", "2", "3", "4");
+        assertThat(requestsByOffset.keySet()).containsExactlyInAnyOrder(0, 2, 4);
+        assertThat(meterRegistry
+                        .get("upstream.parse")
+                        .tag("payload", "page")
+                        .timer()
+                        .count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("upstream.payload.size").summary().totalAmount())
+                .isPositive();
+    }
+
+    @Test
+    void testFetchAll_retriesFailedPage() {
+        givenPages(2);
+        List<String> ids = new ArrayList<>();
+
+        fetcher.fetchAll(employee -> ids.add(employee.getId()));
+
+        assertThat(ids).containsExactly("0", "1", "2", "3", "4");
+        assertThat(requestsByOffset.get(2)).hasValue(2);
+    }
+
+    @Test
+    void testFetchAll_failsOnceRetriesAreExhausted() {
+        fetcher = new PagedEmployeeFetcher(
+                restTemplate,
+                objectMapper,
+                new UpstreamScheduler(new SimpleMeterRegistry(), 1_000, 1, 1_000, 0, 1_000, 0, 1, 1, 1_000),
+                upstreamMetrics,
+                executor,
+                BASE_URL,
+                Mode.PAGED,
+                2,
+                0);
+        givenPages(4);
+
+        assertThatExceptionOfType(HttpServerErrorException.class).isThrownBy(() -> fetcher.fetchAll(employee -> {}));
+    }
+
+    @Test
+    void testFetchAll_doesNotRetryThrottledPage() {
+        SimpleMeterRegistry schedulerRegistry = new SimpleMeterRegistry();
+        fetcher = new PagedEmployeeFetcher(
+                restTemplate,
+                objectMapper,
+                new UpstreamScheduler(schedulerRegistry, 1_000, 1, 1_000, 0, 1_000, 3, 1, 1, 1_000),
+                upstreamMetrics,
+                executor,
+                BASE_URL,
+                Mode.PAGED,
+                2,
+                1);
+        givenPages(TOTAL, 2, HttpStatus.TOO_MANY_REQUESTS, 0);
+
+        assertThatExceptionOfType(HttpClientErrorException.class)
+                .isThrownBy(() -> fetcher.fetchAll(employee -> {}))
+                .satisfies(e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        assertThat(requestsByOffset.get(2)).hasValue(1);
+        assertThat(schedulerRegistry
+                        .get("upstream.scheduler.throttled")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testFetchAll_wallTimeFallsWithParallelism() {
+        long sequential = timedFetch(1);
+        int sequentialMaxInFlight = maxInFlight.getAndSet(0);
+        long parallel = timedFetch(4);
+
+        assertThat(sequentialMaxInFlight).isEqualTo(1);
+        assertThat(maxInFlight).hasValue(4);
+        // 1 + 8 pages of 100 ms: about 900 ms one at a time and 300 ms four at a time.
+        assertThat(parallel).isLessThan(sequential / 2);
+    }
+
+    @Test
+    void testIsEnabled() {
+        assertThat(fetcher.isEnabled()).isTrue();
+        assertThat(new PagedEmployeeFetcher(restTemplate, objectMapper, null, null, executor, BASE_URL, Mode.FULL, 2, 1)
+                        .isEnabled())
+                .isFalse();
+    }
+
+    /*
+     * Fetches 9 one-employee pages, each answered after 100 ms, on the given number of threads. The scheduler admits
+     * one request per second, so it only lets the fetch through in time if the pages do not need a permit each.
+     */
+    private long timedFetch(int parallelism) {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            UpstreamScheduler scheduler = new UpstreamScheduler(new SimpleMeterRegistry(), 1, 1, 1, 0, 1, 0, 1, 1, 100);
+            fetcher = new PagedEmployeeFetcher(
+                    restTemplate, objectMapper, scheduler, upstreamMetrics, pool, BASE_URL, Mode.PAGED, 1, 0);
+            givenPages(9, -1, HttpStatus.INTERNAL_SERVER_ERROR, 100);
+            long start = System.nanoTime();
+            assertThat(fetcher.fetchAll(employee -> {})).isEqualTo(9);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void givenPages(int failingOffset) {
+        givenPages(TOTAL, failingOffset, HttpStatus.INTERNAL_SERVER_ERROR, 0);
+    }
+
+    /*
+     * Serves total employees with ids "0", "1", ..., each page after delayMillis; the page at failingOffset answers
+     * failure on its first request.
+     */
+    private void givenPages(int total, int failingOffset, HttpStatus failure, long delayMillis) {
+        when(restTemplate.execute(
+                        anyString(), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    Map<String, List<String>> query = UriComponentsBuilder.fromUriString(invocation.getArgument(0))
+                            .build()
+                            .getQueryParams();
+                    int offset = Integer.parseInt(query.get("offset").get(0));
+                    int limit = Integer.parseInt(query.get("limit").get(0));
+                    int attempt = requestsByOffset
+                            .computeIfAbsent(offset, ignored -> new AtomicInteger())
+                            .incrementAndGet();
+                    if (offset == failingOffset && attempt == 1) {
+                        throw failure.is5xxServerError()
+                                ? new HttpServerErrorException(failure)
+                                : new HttpClientErrorException(failure);
+                    }
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(delayMillis);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    List<EmployeeResponse> employees = new ArrayList<>();
+                    for (int i = offset; i < Math.min(total, offset + limit); i++) {
+                        employees.add(new EmployeeResponse(
+                                String.valueOf(i), "Employee " + i, 50000, 30, "SE", i + "@company.com"));
+                    }
+                    String json = objectMapper.writeValueAsString(
+                            Map.of("data", Map.of("employees", employees, "total", total), "status", "Success"));
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(
+                            new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+                });
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.reliaquest.api.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testExecuteCollapsesConcurrentCallsForSameKey() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute("test", "GET /employee", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "employees";
+        })));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("test", "GET /employee", () -> {
+                calls.incrementAndGet();
+                return "duplicate";
+            })));
+        }
+        while (meterRegistry
+                        .counter("upstream.singleflight.collapsed", "operation", "test")
+                        .count()
+                < 7) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("employees");
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void testExecuteSharesFailure() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("test", "GET /employee/1", () -> {
+            started.countDown();
+            await(release);
+            throw new NotFoundException("Resource not found: 404 NOT_FOUND");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower =
+                executor.submit(() -> singleFlight.execute("test", "GET /employee/1", () -> "unused"));
+        while (meterRegistry
+                        .counter("upstream.singleflight.collapsed", "operation", "test")
+                        .count()
+                < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertThat(leader).failsWithin(5, TimeUnit.SECONDS).withThrowableOfType(Exception.class);
+        assertThatExceptionOfType(Exception.class)
+                .isThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .withCauseInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void testExecuteRunsAgainOnceCompleted() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("test", "GET /employee", calls::incrementAndGet);
+        singleFlight.execute("test", "GET /employee", calls::incrementAndGet);
+        singleFlight.execute("test", "GET /employee/1", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry
+                        .counter("upstream.singleflight.collapsed", "operation", "test")
+                        .count())
+                .isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
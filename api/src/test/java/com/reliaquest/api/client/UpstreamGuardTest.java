@@ -0,0 +1,102 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.reliaquest.api.client.CircuitBreaker.State;
+import com.reliaquest.api.client.UpstreamGuard.Operation;
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+class UpstreamGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new UpstreamGuard(meterRegistry, 2, 60_000, 1, 1, 8, 4, 4, 10);
+    }
+
+    @Test
+    void testServerErrorsOpenOnlyTheirOperationsCircuit() {
+        failWith(Operation.GET_BY_ID, new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+        failWith(Operation.GET_BY_ID, new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+
+        assertThatExceptionOfType(ServiceUnavailableException.class)
+                .isThrownBy(() -> guard.execute(Operation.GET_BY_ID, () -> "not called"))
+                .satisfies(exception ->
+                        assertThat(exception.getRetryAfterSeconds()).isEqualTo(60));
+        assertThat(guard.execute(Operation.LIST, () -> "ok")).isEqualTo("ok");
+        assertThat(guard.getState(Operation.LIST)).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void testClientErrorsAndLocalRejectionsKeepCircuitClosed() {
+        failWith(Operation.CREATE, new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        failWith(Operation.CREATE, new TooManyRequestsException("Upstream request budget exhausted."));
+        failWith(Operation.CREATE, new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertThat(guard.getState(Operation.CREATE)).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void testExhaustedRateLimitRetriesCountAsFailures() {
+        failWith(Operation.DELETE, new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+        failWith(Operation.DELETE, new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        assertThat(guard.getState(Operation.DELETE)).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void testFullBulkheadRejects() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> guard.execute(Operation.LIST, () -> {
+            started.countDown();
+            await(release);
+            return "done";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatExceptionOfType(ServiceUnavailableException.class)
+                .isThrownBy(() -> guard.execute(Operation.LIST, () -> "not called"));
+        assertThat(guard.execute(Operation.GET_BY_ID, () -> "ok")).isEqualTo("ok");
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(guard.execute(Operation.LIST, () -> "ok")).isEqualTo("ok");
+        assertThat(meterRegistry
+                        .get("upstream.bulkhead.rejected")
+                        .tag("operation", "list")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+        assertThat(guard.getState(Operation.LIST)).isEqualTo(State.CLOSED);
+    }
+
+    private void failWith(Operation operation, RuntimeException failure) {
+        assertThatExceptionOfType(failure.getClass())
+                .isThrownBy(() -> guard.execute(operation, () -> {
+                    throw failure;
+                }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class UpstreamMetricsTest {
+
+    private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamMetrics upstreamMetrics = new UpstreamMetrics(meterRegistry);
+
+    @Test
+    void testIntercept_tagsByRouteAndStatusClass() throws IOException {
+        call(HttpMethod.GET, BASE_URL, HttpStatus.OK);
+        call(HttpMethod.GET, BASE_URL + "/4a5b6c7d-0000-4000-8000-000000000001", HttpStatus.NOT_FOUND);
+        call(HttpMethod.GET, BASE_URL + "/not-a-uuid", HttpStatus.TOO_MANY_REQUESTS);
+        call(HttpMethod.GET, BASE_URL + "/page?offset=0", HttpStatus.SERVICE_UNAVAILABLE);
+        call(HttpMethod.POST, BASE_URL, HttpStatus.BAD_REQUEST);
+        call(HttpMethod.GET, BASE_URL, HttpStatus.NOT_MODIFIED);
+        call(HttpMethod.GET, BASE_URL + "/changes?since=5", HttpStatus.GONE);
+
+        assertThat(count("GET", "/api/v1/employee", "2xx")).isEqualTo(1);
+        assertThat(count("GET", "/api/v1/employee/{id}", "404")).isEqualTo(1);
+        assertThat(count("GET", "/api/v1/employee/{id}", "429")).isEqualTo(1);
+        assertThat(count("GET", "/api/v1/employee/page", "5xx")).isEqualTo(1);
+        assertThat(count("POST", "/api/v1/employee", "4xx")).isEqualTo(1);
+        assertThat(count("GET", "/api/v1/employee", "304")).isEqualTo(1);
+        assertThat(count("GET", "/api/v1/employee/changes", "4xx")).isEqualTo(1);
+    }
+
+    @Test
+    void testIntercept_recordsIoErrors() {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.DELETE, URI.create(BASE_URL));
+
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> upstreamMetrics.intercept(request, new byte[0], (ignored, body) -> {
+                    throw new IOException("Connection refused");
+                }));
+
+        assertThat(count("DELETE", "/api/v1/employee", "IO_ERROR")).isEqualTo(1);
+    }
+
+    @Test
+    void testRecordParse() {
+        upstreamMetrics.recordParse("list", 2_000_000, 4_096);
+        upstreamMetrics.recordParse("list", 1_000_000, -1);
+
+        assertThat(meterRegistry
+                        .get("upstream.parse")
+                        .tag("payload", "list")
+                        .timer()
+                        .count())
+                .isEqualTo(2);
+        assertThat(meterRegistry
+                        .get("upstream.payload.size")
+                        .tag("payload", "list")
+                        .summary()
+                        .totalAmount())
+                .isEqualTo(4_096);
+    }
+
+    private void call(HttpMethod method, String url, HttpStatus status) throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(method, URI.create(url));
+        upstreamMetrics.intercept(
+                request, new byte[0], (ignored, body) -> new MockClientHttpResponse(new byte[0], status));
+    }
+
+    private long count(String method, String uri, String status) {
+        return meterRegistry
+                .get("upstream.requests")
+                .tags("method", method, "uri", uri, "status", status)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,114 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.reliaquest.api.client.UpstreamScheduler.Priority;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class UpstreamSchedulerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testExecuteRetriesAfterTooManyRequests() {
+        UpstreamScheduler scheduler = scheduler(100, 10, 1_000);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = scheduler.execute(Priority.LOOKUP, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw tooManyRequests(null);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+        assertThat(scheduler.getRate()).isEqualTo(50);
+        assertThat(meterRegistry.counter("upstream.scheduler.throttled").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("upstream.scheduler.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testExecuteDoesNotRetryRefresh() {
+        UpstreamScheduler scheduler = scheduler(100, 10, 1_000);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatExceptionOfType(HttpClientErrorException.class)
+                .isThrownBy(() -> scheduler.execute(Priority.REFRESH, () -> {
+                    calls.incrementAndGet();
+                    throw tooManyRequests(null);
+                }));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void testExecuteFailsFastWhenRetryAfterExceedsMaxWait() {
+        UpstreamScheduler scheduler = scheduler(100, 10, 200);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatExceptionOfType(TooManyRequestsException.class)
+                .isThrownBy(() -> scheduler.execute(Priority.WRITE, () -> {
+                    calls.incrementAndGet();
+                    throw tooManyRequests("60");
+                }));
+        assertThatExceptionOfType(TooManyRequestsException.class)
+                .isThrownBy(() -> scheduler.execute(Priority.WRITE, () -> "never sent"));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void testExecuteAdmitsHigherPriorityFirst() throws Exception {
+        UpstreamScheduler scheduler = scheduler(5, 1, 5_000);
+        scheduler.execute(Priority.LOOKUP, () -> "drains the only token");
+        List<Priority> admitted = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<Void> refresh = CompletableFuture.runAsync(
+                () -> scheduler.execute(Priority.REFRESH, () -> admitted.add(Priority.REFRESH)));
+        awaitQueueDepth(scheduler, 1);
+        CompletableFuture<Void> write =
+                CompletableFuture.runAsync(() -> scheduler.execute(Priority.WRITE, () -> admitted.add(Priority.WRITE)));
+        CompletableFuture.allOf(refresh, write).get(5, TimeUnit.SECONDS);
+
+        assertThat(admitted).containsExactly(Priority.WRITE, Priority.REFRESH);
+    }
+
+    private UpstreamScheduler scheduler(double rate, double burst, long maxWaitMillis) {
+        return new UpstreamScheduler(meterRegistry, rate, 0.05, rate, 0, burst, 3, 1, 10, maxWaitMillis);
+    }
+
+    private static void awaitQueueDepth(UpstreamScheduler scheduler, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, new byte[0], StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class AppConfigTest {
+
+    private final AppConfig appConfig = new AppConfig();
+
+    @Test
+    public void testBatchPools_mustStayBelowTheirBulkheads() {
+        assertThat(appConfig.upstreamWriteExecutor(4, 10, 8).getCorePoolSize()).isEqualTo(4);
+        assertThat(appConfig.upstreamLookupExecutor(7, 10, 8).getCorePoolSize()).isEqualTo(7);
+
+        assertThatThrownBy(() -> appConfig.upstreamWriteExecutor(8, 10, 8))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("api.batch.concurrency (8) must be below api.upstream.bulkhead.create (8)");
+        assertThatThrownBy(() -> appConfig.upstreamLookupExecutor(8, 10, 8))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(
+                        "api.batch.lookup-concurrency (8) must be below api.upstream.bulkhead.get-by-id (8)");
+    }
+}
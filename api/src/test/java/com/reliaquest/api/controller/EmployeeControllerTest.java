@@ -3,8 +3,13 @@ package com.reliaquest.api.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import com.reliaquest.api.model.AgeBucket;
 import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
+import com.reliaquest.api.model.DeleteEmployeeResult;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SalaryStats;
+import com.reliaquest.api.service.BatchEmployeeService;
 import com.reliaquest.api.service.IEmployeeService;
 import java.util.Arrays;
 import java.util.List;
@@ -27,6 +32,9 @@ public class EmployeeControllerTest {
     @Mock
     private IEmployeeService employeeService;
 
+    @Mock
+    private BatchEmployeeService batchEmployeeService;
+
     @Test
     public void testGetAllEmployees() {
         MockHttpServletRequest request = new MockHttpServletRequest();
@@ -101,4 +109,110 @@ public class EmployeeControllerTest {
         assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
         assertThat(responseEntity.getBody()).isEqualTo(60000);
     }
+
+    @Test
+    public void testGetSalaryStats() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        SalaryStats stats = new SalaryStats(2, 50000, 60000, 55000.0, 50000, 60000, 60000);
+        when(employeeService.getSalaryStats()).thenReturn(stats);
+
+        ResponseEntity<SalaryStats> responseEntity = employeeController.getSalaryStats();
+
+        assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(responseEntity.getBody()).isEqualTo(stats);
+    }
+
+    @Test
+    public void testGetAgeHistogram() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        when(employeeService.getAgeHistogram(10)).thenReturn(List.of(new AgeBucket(30, 39, 2)));
+
+        ResponseEntity<List<AgeBucket>> responseEntity = employeeController.getAgeHistogram(10);
+
+        assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(responseEntity.getBody()).containsExactly(new AgeBucket(30, 39, 2));
+    }
+
+    @Test
+    public void testGetTopHighestEarningEmployeeNames() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        when(employeeService.getTopHighestEarningEmployeeNames(2)).thenReturn(List.of("Jane Doe", "Abhay K"));
+
+        ResponseEntity<List<String>> responseEntity = employeeController.getTopHighestEarningEmployeeNames(2);
+
+        assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(responseEntity.getBody()).containsExactly("Jane Doe", "Abhay K");
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearchPaged() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        EmployeeResponse employee = new EmployeeResponse("2", "Jane Doe", 50000, 30, "Developer", "jane@company.com");
+        when(employeeService.getEmployeesByNameSearch("jane", 0, 10)).thenReturn(List.of(employee));
+
+        ResponseEntity<List<EmployeeResponse>> responseEntity =
+                employeeController.getEmployeesByNameSearch("jane", 0, 10);
+
+        assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(responseEntity.getBody()).containsExactly(employee);
+    }
+
+    @Test
+    public void testGetEmployeesByIds() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        EmployeeResponse employee = new EmployeeResponse("1", "Abhay K", 50000, 30, "Developer", "john@company.com");
+        when(batchEmployeeService.getEmployeesByIds(List.of("1", "9"))).thenReturn(List.of(employee));
+
+        ResponseEntity<List<EmployeeResponse>> responseEntity = employeeController.getEmployeesByIds(List.of("1", "9"));
+
+        assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(responseEntity.getBody()).containsExactly(employee);
+    }
+
+    @Test
+    public void testCreateEmployees() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        List<CreateEmployeeInput> inputs = List.of(
+                new CreateEmployeeInput("Abhay K", 50000, 30, "Developer"),
+                new CreateEmployeeInput("Jane Doe", 60000, 40, "Manager"));
+        EmployeeResponse created = new EmployeeResponse("1", "Abhay K", 50000, 30, "Developer", "abhay@company.com");
+        List<CreateEmployeeResult> results = List.of(
+                new CreateEmployeeResult(0, CreateEmployeeResult.Status.CREATED, created, null),
+                new CreateEmployeeResult(1, CreateEmployeeResult.Status.FAILED, null, "Server error: 500"));
+        when(batchEmployeeService.createEmployees(inputs)).thenReturn(results);
+
+        ResponseEntity<List<CreateEmployeeResult>> responseEntity = employeeController.createEmployees(inputs);
+
+        assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(responseEntity.getBody()).isEqualTo(results);
+    }
+
+    @Test
+    public void testDeleteEmployeesByIds() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        List<DeleteEmployeeResult> results = List.of(
+                new DeleteEmployeeResult("1", DeleteEmployeeResult.Status.DELETED, "Successfully deleted employee."),
+                new DeleteEmployeeResult("9", DeleteEmployeeResult.Status.NOT_FOUND, "Employee with ID 9 not found."));
+        when(employeeService.deleteEmployeesByIds(List.of("1", "9"))).thenReturn(results);
+
+        ResponseEntity<List<DeleteEmployeeResult>> responseEntity =
+                employeeController.deleteEmployeesByIds(List.of("1", "9"));
+
+        assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(responseEntity.getBody()).isEqualTo(results);
+    }
 }
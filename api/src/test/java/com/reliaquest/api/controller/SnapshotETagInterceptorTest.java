@@ -0,0 +1,96 @@
+package com.reliaquest.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+public class SnapshotETagInterceptorTest {
+
+    @Mock
+    private EmployeeCache employeeCache;
+
+    private SnapshotETagInterceptor interceptor;
+
+    @BeforeEach
+    public void setup() {
+        interceptor = new SnapshotETagInterceptor(employeeCache);
+    }
+
+    @Test
+    public void testPreHandle_tagsResponseWithSnapshotVersion() {
+        when(employeeCache.getServableVersion()).thenReturn(OptionalLong.of(7));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(get(), response, null);
+
+        assertThat(proceed).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).matches("\"[0-9a-f]+-7\"");
+    }
+
+    @Test
+    public void testPreHandle_notModifiedWhileVersionUnchanged() {
+        when(employeeCache.getServableVersion()).thenReturn(OptionalLong.of(7));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(get(), first, null);
+        MockHttpServletRequest revalidation = get();
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(revalidation, response, null);
+
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    public void testPreHandle_modifiedAfterWrite() {
+        when(employeeCache.getServableVersion()).thenReturn(OptionalLong.of(7), OptionalLong.of(8));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(get(), first, null);
+        MockHttpServletRequest revalidation = get();
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(revalidation, response, null);
+
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).endsWith("-8\"");
+    }
+
+    @Test
+    public void testPreHandle_noTagWhenSnapshotMustLoad() {
+        when(employeeCache.getServableVersion()).thenReturn(OptionalLong.empty());
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    public void testPreHandle_ignoresWrites() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/v1/employee"), response, null))
+                .isTrue();
+        verifyNoInteractions(employeeCache);
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/v1/employee");
+    }
+}
@@ -0,0 +1,249 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.exception.NotFoundException;
+import com.reliaquest.api.exception.ServerErrorException;
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.exception.ValidationException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
+import com.reliaquest.api.model.CreateEmployeeResult.Status;
+import com.reliaquest.api.model.EmployeeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchEmployeeServiceTest {
+
+    @Mock
+    private ApiClient apiClient;
+
+    @Mock
+    private EmployeeCache employeeCache;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private BatchEmployeeService batchEmployeeService;
+
+    private CreateEmployeeInput abhay;
+    private CreateEmployeeInput jane;
+    private CreateEmployeeInput sam;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(3);
+        meterRegistry = new SimpleMeterRegistry();
+        batchEmployeeService = new BatchEmployeeService(
+                apiClient,
+                employeeCache,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                meterRegistry,
+                executor,
+                executor,
+                4);
+        abhay = new CreateEmployeeInput("Abhay K", 50000, 30, "SE");
+        jane = new CreateEmployeeInput("Jane Doe", 60000, 40, "SSE");
+        sam = new CreateEmployeeInput("Sam Roe", 70000, 50, "Manager");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCreateEmployees_reportsPerItemResultsInOrder() {
+        EmployeeResponse createdAbhay = created("1", abhay);
+        EmployeeResponse createdSam = created("3", sam);
+        when(apiClient.createEmployee(abhay)).thenReturn(createdAbhay);
+        when(apiClient.createEmployee(jane)).thenThrow(new ServerErrorException("Server error: 503"));
+        when(apiClient.createEmployee(sam)).thenReturn(createdSam);
+
+        List<CreateEmployeeResult> results = batchEmployeeService.createEmployees(List.of(abhay, jane, sam));
+
+        assertThat(results)
+                .extracting(
+                        CreateEmployeeResult::getIndex,
+                        CreateEmployeeResult::getStatus,
+                        CreateEmployeeResult::getEmployee,
+                        CreateEmployeeResult::getMessage)
+                .containsExactly(
+                        tuple(0, Status.CREATED, createdAbhay, null),
+                        tuple(1, Status.FAILED, null, "Server error: 503"),
+                        tuple(2, Status.CREATED, createdSam, null));
+        verify(employeeCache).applyCreated(List.of(createdAbhay, createdSam));
+        assertThat(meterRegistry
+                        .get("employee.service")
+                        .tag("operation", "createEmployees")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testCreateEmployees_upstreamRejectionIsInvalid() {
+        when(apiClient.createEmployee(abhay)).thenThrow(new ValidationException("Invalid request: 400 BAD_REQUEST"));
+
+        List<CreateEmployeeResult> results = batchEmployeeService.createEmployees(List.of(abhay));
+
+        assertThat(results).extracting(CreateEmployeeResult::getStatus).containsExactly(Status.INVALID);
+        verify(employeeCache).applyCreated(List.of());
+    }
+
+    @Test
+    public void testCreateEmployees_sendsConcurrently() throws Exception {
+        CountDownLatch allInFlight = new CountDownLatch(3);
+        when(apiClient.createEmployee(any())).thenAnswer(invocation -> {
+            allInFlight.countDown();
+            assertThat(allInFlight.await(5, TimeUnit.SECONDS)).isTrue();
+            CreateEmployeeInput input = invocation.getArgument(0);
+            return created(input.getName(), input);
+        });
+
+        List<CreateEmployeeResult> results = batchEmployeeService.createEmployees(List.of(abhay, jane, sam));
+
+        assertThat(results).extracting(CreateEmployeeResult::getStatus).containsOnly(Status.CREATED);
+    }
+
+    @Test
+    public void testCreateEmployees_fullQueueFailsRemainingItemsOnly() {
+        AtomicInteger submitted = new AtomicInteger();
+        Executor filling = task -> {
+            if (submitted.incrementAndGet() > 2) {
+                throw new RejectedExecutionException("queue full");
+            }
+            executor.execute(task);
+        };
+        BatchEmployeeService service = new BatchEmployeeService(
+                apiClient,
+                employeeCache,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                meterRegistry,
+                filling,
+                executor,
+                4);
+        EmployeeResponse createdAbhay = created("1", abhay);
+        EmployeeResponse createdJane = created("2", jane);
+        when(apiClient.createEmployee(abhay)).thenReturn(createdAbhay);
+        when(apiClient.createEmployee(jane)).thenReturn(createdJane);
+
+        List<CreateEmployeeResult> results = service.createEmployees(List.of(abhay, jane, sam));
+
+        assertThat(results)
+                .extracting(CreateEmployeeResult::getIndex, CreateEmployeeResult::getStatus)
+                .containsExactly(tuple(0, Status.CREATED), tuple(1, Status.CREATED), tuple(2, Status.FAILED));
+        assertThat(results.get(2).getMessage()).contains("not created");
+        verify(apiClient, never()).createEmployee(sam);
+        verify(employeeCache).applyCreated(List.of(createdAbhay, createdJane));
+    }
+
+    @Test
+    public void testCreateEmployees_invalidBatchCreatesNothing() {
+        CreateEmployeeInput blankName = new CreateEmployeeInput(" ", 50000, 30, "SE");
+        CreateEmployeeInput tooYoung = new CreateEmployeeInput("Kid", 50000, 12, "SE");
+
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> batchEmployeeService.createEmployees(Arrays.asList(blankName, null, tooYoung)))
+                .withMessageStartingWith("Invalid batch, no employees were created: ")
+                .withMessageContaining("[0] name must not be blank")
+                .withMessageContaining("[1] employee is required")
+                .withMessageContaining("[2] age must be greater than or equal to 16");
+        verify(apiClient, never()).createEmployee(any());
+        verify(employeeCache, never()).applyCreated(any(List.class));
+    }
+
+    @Test
+    public void testCreateEmployees_emptyOrOversizedBatch() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> batchEmployeeService.createEmployees(List.of()))
+                .withMessage("At least one employee is required.");
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> batchEmployeeService.createEmployees(List.of(abhay, jane, sam, abhay, jane)))
+                .withMessage("At most 4 employees can be created at once: 5");
+        verify(apiClient, never()).createEmployee(any());
+    }
+
+    @Test
+    public void testGetEmployeesByIds_servesSnapshotInRequestOrder() {
+        EmployeeResponse first = created("1", abhay);
+        EmployeeResponse second = created("2", jane);
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(List.of(first, second), 1, 0));
+
+        List<EmployeeResponse> result = batchEmployeeService.getEmployeesByIds(List.of("2", "1", "2"));
+
+        assertThat(result).containsExactly(second, first);
+        verify(apiClient, never()).getEmployeeById(any());
+    }
+
+    @Test
+    public void testGetEmployeesByIds_looksUpMissesUpstream() {
+        EmployeeResponse cached = created("1", abhay);
+        EmployeeResponse recent = created("3", sam);
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(List.of(cached), 1, 0));
+        when(apiClient.getEmployeeById("3")).thenReturn(recent);
+        when(apiClient.getEmployeeById("9")).thenThrow(new NotFoundException("Resource not found: 404 NOT_FOUND"));
+        when(apiClient.getEmployeeById("bad")).thenThrow(new ValidationException("Invalid request: 400 BAD_REQUEST"));
+
+        List<EmployeeResponse> result = batchEmployeeService.getEmployeesByIds(List.of("9", "3", "bad", "1"));
+
+        assertThat(result).containsExactly(recent, cached);
+        verify(apiClient, times(3)).getEmployeeById(any());
+        assertThat(meterRegistry
+                        .get("employee.service")
+                        .tag("operation", "getEmployeesByIds")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testGetEmployeesByIds_failedLookupFailsRequest() {
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(List.of(), 1, 0));
+        when(apiClient.getEmployeeById("3"))
+                .thenThrow(new ServiceUnavailableException("Upstream GET_BY_ID calls are failing.", 5));
+
+        assertThatExceptionOfType(ServiceUnavailableException.class)
+                .isThrownBy(() -> batchEmployeeService.getEmployeesByIds(List.of("3")));
+    }
+
+    @Test
+    public void testGetEmployeesByIds_emptyOrOversizedRequest() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> batchEmployeeService.getEmployeesByIds(List.of()))
+                .withMessage("At least one employee ID is required.");
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> batchEmployeeService.getEmployeesByIds(List.of("1", "2", "3", "4", "5")))
+                .withMessage("At most 4 employees can be fetched at once: 5");
+    }
+
+    private static EmployeeResponse created(String id, CreateEmployeeInput input) {
+        return new EmployeeResponse(
+                id, input.getName(), input.getSalary(), input.getAge(), input.getTitle(), id + "@company.com");
+    }
+}
@@ -2,19 +2,40 @@ package com.reliaquest.api.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeSnapshot;
 import com.reliaquest.api.client.ApiClient;
 import com.reliaquest.api.exception.ApiException;
+import com.reliaquest.api.exception.ConflictException;
+import com.reliaquest.api.exception.NotFoundException;
+import com.reliaquest.api.exception.ServerErrorException;
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.ValidationException;
+import com.reliaquest.api.model.AgeBucket;
 import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeeResult;
+import com.reliaquest.api.model.DeleteEmployeeResult.Status;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.TitleStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +44,12 @@ public class EmployeeServiceTest {
     @Mock
     private ApiClient apiClient;
 
+    @Mock
+    private EmployeeCache employeeCache;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -40,7 +67,7 @@ public class EmployeeServiceTest {
     @Test
     public void testGetAllEmployees() {
         List<EmployeeResponse> employees = Arrays.asList(employee1, employee2);
-        when(apiClient.getAllEmployees()).thenReturn(employees);
+        when(employeeCache.getEmployees()).thenReturn(employees);
 
         List<EmployeeResponse> result = employeeService.getAllEmployees();
 
@@ -52,7 +79,7 @@ public class EmployeeServiceTest {
     @Test
     public void testGetEmployeesByNameSearch() {
         List<EmployeeResponse> employees = Arrays.asList(employee1, employee2);
-        when(apiClient.getAllEmployees()).thenReturn(employees);
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(employees, 1, 0));
 
         List<EmployeeResponse> result = employeeService.getEmployeesByNameSearch("Abhay K");
 
@@ -60,6 +87,27 @@ public class EmployeeServiceTest {
         assertThat(result.get(0).getEmployeeName()).isEqualTo("Abhay K");
     }
 
+    @Test
+    public void testGetEmployeesByNameSearch_paged() {
+        EmployeeResponse employee3 = new EmployeeResponse("3", "Jane Roe", 55000, 40, "SE", "roe@company.com");
+        List<EmployeeResponse> employees = Arrays.asList(employee1, employee2, employee3);
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(employees, 1, 0));
+
+        List<EmployeeResponse> result = employeeService.getEmployeesByNameSearch("jane", 1, 5);
+
+        assertThat(result).containsExactly(employee3);
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearch_invalidPage() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> employeeService.getEmployeesByNameSearch("jane", -1, 5))
+                .withMessage("Offset must not be negative: -1");
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> employeeService.getEmployeesByNameSearch("jane", 0, 0))
+                .withMessage("Limit must be positive: 0");
+    }
+
     @Test
     public void testGetEmployeeById() {
         when(apiClient.getEmployeeById("1")).thenReturn(employee1);
@@ -73,7 +121,7 @@ public class EmployeeServiceTest {
     @Test
     public void testGetHighestSalaryOfEmployees() {
         List<EmployeeResponse> employees = Arrays.asList(employee1, employee2);
-        when(apiClient.getAllEmployees()).thenReturn(employees);
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(employees, 1, 0));
 
         Integer result = employeeService.getHighestSalaryOfEmployees();
 
@@ -82,17 +130,33 @@ public class EmployeeServiceTest {
 
     @Test
     public void testGetHighestSalaryOfEmployees_noEmployees() {
-        when(apiClient.getAllEmployees()).thenReturn(Arrays.asList());
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(Arrays.asList(), 1, 0));
 
         assertThatExceptionOfType(ApiException.class)
                 .isThrownBy(() -> employeeService.getHighestSalaryOfEmployees())
                 .withMessage("No employees found.");
     }
 
+    @Test
+    public void testGetStats() {
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(Arrays.asList(employee1, employee2), 1, 0));
+
+        assertThat(employeeService.getSalaryStats().getAverage()).isEqualTo(55000);
+        assertThat(employeeService.getTitleStats()).containsExactly(new TitleStats("SE", 2, 55000));
+        assertThat(employeeService.getAgeHistogram(5)).containsExactly(new AgeBucket(30, 34, 2));
+    }
+
+    @Test
+    public void testGetAgeHistogram_invalidBucketSize() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> employeeService.getAgeHistogram(0))
+                .withMessage("Bucket size must be positive: 0");
+    }
+
     @Test
     public void testGetTopTenHighestEarningEmployeeNames() {
         List<EmployeeResponse> employees = Arrays.asList(employee1, employee2);
-        when(apiClient.getAllEmployees()).thenReturn(employees);
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(employees, 1, 0));
 
         List<String> result = employeeService.getTopTenHighestEarningEmployeeNames();
 
@@ -101,6 +165,24 @@ public class EmployeeServiceTest {
         assertThat(result.get(1)).isEqualTo("Abhay K");
     }
 
+    @Test
+    public void testGetTopHighestEarningEmployeeNames() {
+        EmployeeResponse employee3 = new EmployeeResponse("3", "Sam Roe", 55000, 40, "SE", "sam@company.com");
+        List<EmployeeResponse> employees = Arrays.asList(employee1, employee2, employee3);
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(employees, 1, 0));
+
+        List<String> result = employeeService.getTopHighestEarningEmployeeNames(2);
+
+        assertThat(result).containsExactly("Jane Doe", "Sam Roe");
+    }
+
+    @Test
+    public void testGetTopHighestEarningEmployeeNames_invalidCount() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> employeeService.getTopHighestEarningEmployeeNames(0))
+                .withMessage("Number of employees must be positive: 0");
+    }
+
     @Test
     public void testCreateEmployee() {
         EmployeeResponse createdEmployee =
@@ -111,21 +193,127 @@ public class EmployeeServiceTest {
 
         assertThat(result.getEmployeeName()).isEqualTo("New Employee");
         assertThat(result.getEmployeeSalary()).isEqualTo(70000);
+        verify(employeeCache).applyCreated(createdEmployee);
     }
 
     @Test
-    public void testDeleteEmployeeById() {
-        when(apiClient.deleteEmployeeById("1")).thenReturn("Employee deleted successfully");
+    public void testDeleteEmployeeById_looksUpUnknownId() {
+        when(apiClient.getEmployeeById("1")).thenReturn(employee1);
+        when(apiClient.deleteEmployeeByName("Abhay K")).thenReturn("Successfully deleted employee.");
+
         String result = employeeService.deleteEmployeeById("1");
 
-        assertThat(result).isEqualTo("Employee deleted successfully");
+        assertThat(result).isEqualTo("Successfully deleted employee.");
+        verify(employeeCache).applyDeleted("1");
     }
 
     @Test
     public void testDeleteEmployeeById_notFound() {
-        when(apiClient.deleteEmployeeById("999")).thenReturn("Employee not found");
-        String result = employeeService.deleteEmployeeById("999");
+        when(apiClient.getEmployeeById("999")).thenReturn(null);
 
-        assertThat(result).isEqualTo("Employee not found");
+        assertThatExceptionOfType(NotFoundException.class)
+                .isThrownBy(() -> employeeService.deleteEmployeeById("999"))
+                .withMessage("Employee with ID 999 not found.");
+        verify(apiClient, never()).deleteEmployeeByName(any());
+        verify(employeeCache, never()).applyDeleted(any());
+    }
+
+    @Test
+    public void testDeleteEmployeeById_resolvesNameFromCache() {
+        when(employeeCache.findCached("1")).thenReturn(Optional.of(employee1));
+        when(employeeCache.findFirstCachedByName("Abhay K")).thenReturn(Optional.of(employee1));
+        when(apiClient.deleteEmployeeByName("Abhay K")).thenReturn("Successfully deleted employee.");
+
+        String result = employeeService.deleteEmployeeById("1");
+
+        assertThat(result).isEqualTo("Successfully deleted employee.");
+        verify(apiClient, never()).getEmployeeById(any());
+        verify(employeeCache).applyDeleted("1");
+    }
+
+    @Test
+    public void testDeleteEmployeeById_refusesWhenAnOlderEmployeeSharesTheName() {
+        EmployeeResponse namesake = new EmployeeResponse("3", "abhay k", 40000, 50, "SE", "abhay.k@company.com");
+        when(employeeCache.findCached("3")).thenReturn(Optional.of(namesake));
+        when(employeeCache.findFirstCachedByName("abhay k")).thenReturn(Optional.of(employee1));
+
+        assertThatExceptionOfType(ConflictException.class)
+                .isThrownBy(() -> employeeService.deleteEmployeeById("3"))
+                .withMessageContaining("older employee 1");
+        verify(apiClient, never()).deleteEmployeeByName(any());
+        verify(employeeCache, never()).applyDeleted(any());
+    }
+
+    @Test
+    public void testDeleteEmployeesByIds_deletesOnlyTheOldestOfSameNamedEmployees() {
+        EmployeeResponse namesake = new EmployeeResponse("3", "Abhay K", 40000, 50, "SE", "abhay.k@company.com");
+        EmployeeResponse newer = new EmployeeResponse("4", "ABHAY K", 45000, 35, "SE", "abhay.k2@company.com");
+        when(employeeCache.getSnapshot())
+                .thenReturn(EmployeeSnapshot.of(List.of(employee1, employee2, namesake), 1, 0));
+        when(apiClient.getEmployeeById("4")).thenReturn(newer);
+        when(apiClient.deleteEmployeeByName("Abhay K")).thenReturn("Successfully deleted employee.");
+
+        List<DeleteEmployeeResult> results = employeeService.deleteEmployeesByIds(List.of("3", "4", "1"));
+
+        assertThat(results)
+                .extracting(DeleteEmployeeResult::getId, DeleteEmployeeResult::getStatus)
+                .containsExactly(tuple("3", Status.FAILED), tuple("4", Status.FAILED), tuple("1", Status.DELETED));
+        assertThat(results.get(0).getMessage()).contains("older employee 1");
+        verify(apiClient, times(1)).deleteEmployeeByName(any());
+        verify(employeeCache).applyDeleted("1");
+        verify(employeeCache, never()).applyDeleted("3");
+        verify(employeeCache, never()).applyDeleted("4");
+    }
+
+    @Test
+    public void testDeleteEmployeesByIds_looksUpUnknownIds() {
+        EmployeeResponse hire = new EmployeeResponse("3", "New Hire", 70000, 25, "SE", "hire@company.com");
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(List.of(employee1, employee2), 1, 0));
+        when(apiClient.getEmployeeById("3")).thenReturn(hire);
+        when(apiClient.getEmployeeById("9")).thenThrow(new NotFoundException("Resource not found: 404 NOT_FOUND"));
+        when(apiClient.deleteEmployeeByName("Abhay K")).thenReturn("Successfully deleted employee.");
+        when(apiClient.deleteEmployeeByName("New Hire")).thenReturn("Successfully deleted employee.");
+        when(apiClient.deleteEmployeeByName("Jane Doe"))
+                .thenThrow(new ServerErrorException("Server error while deleting employee: 500"));
+
+        List<DeleteEmployeeResult> results = employeeService.deleteEmployeesByIds(List.of("1", "3", "1", "2", "9"));
+
+        assertThat(results)
+                .extracting(DeleteEmployeeResult::getId, DeleteEmployeeResult::getStatus)
+                .containsExactly(
+                        tuple("1", Status.DELETED),
+                        tuple("3", Status.DELETED),
+                        tuple("2", Status.FAILED),
+                        tuple("9", Status.NOT_FOUND));
+        verify(employeeCache, times(1)).getSnapshot();
+        verify(employeeCache, never()).refresh();
+        verify(apiClient, never()).getEmployeeById("1");
+        verify(employeeCache).applyDeleted("1");
+        verify(employeeCache).applyDeleted("3");
+        verify(employeeCache, never()).applyDeleted("2");
+    }
+
+    @Test
+    public void testDeleteEmployeesByIds_failsIdsThatCouldNotBeLookedUp() {
+        when(employeeCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(List.of(employee1), 1, 0));
+        when(apiClient.getEmployeeById("3"))
+                .thenThrow(new TooManyRequestsException("Rate limit exceeded: 429 TOO_MANY_REQUESTS"));
+        when(apiClient.getEmployeeById("4"))
+                .thenThrow(
+                        new ServiceUnavailableException("Upstream GET_BY_ID calls are failing, try again later.", 10));
+
+        List<DeleteEmployeeResult> results = employeeService.deleteEmployeesByIds(List.of("3", "4"));
+
+        assertThat(results)
+                .extracting(DeleteEmployeeResult::getId, DeleteEmployeeResult::getStatus)
+                .containsExactly(tuple("3", Status.FAILED), tuple("4", Status.FAILED));
+        verify(apiClient, never()).deleteEmployeeByName(any());
+    }
+
+    @Test
+    public void testDeleteEmployeesByIds_requiresIds() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> employeeService.deleteEmployeesByIds(List.of()))
+                .withMessage("At least one employee ID is required.");
     }
 }
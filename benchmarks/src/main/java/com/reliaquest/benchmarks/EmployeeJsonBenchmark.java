@@ -0,0 +1,52 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.model.EmployeeResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson (de)serialisation of a single {@link EmployeeResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private EmployeeResponse employee;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws IOException {
+        reader = Employees.objectMapper().readerFor(EmployeeResponse.class);
+        writer = Employees.objectMapper().writerFor(EmployeeResponse.class);
+        employee = Employees.generate(1).get(0);
+        json = writer.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public EmployeeResponse deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeStreamReader;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.ResponseWrapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decoding the upstream {@code GET /api/v1/employee} body: the buffered path, which binds the whole body as a String
+ * the way {@code ApiClient.parseResponse} does, against the streaming {@link EmployeeStreamReader} the list load uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class EmployeeListParsingBenchmark {
+
+    private static final TypeReference<ResponseWrapper<List<EmployeeResponse>>> EMPLOYEE_LIST =
+            new TypeReference<>() {};
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private EmployeeStreamReader streamReader;
+    private String body;
+    private byte[] bodyBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Employees.objectMapper();
+        streamReader = new EmployeeStreamReader(objectMapper);
+        body = objectMapper.writeValueAsString(
+                new ResponseWrapper<>(Employees.generate(size), "Successfully processed request."));
+        bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> bufferedBinding() throws IOException {
+        return objectMapper.readValue(body, EMPLOYEE_LIST).getData();
+    }
+
+    @Benchmark
+    public int streamingReader(Blackhole blackhole) throws IOException {
+        return streamReader.readEmployees(new ByteArrayInputStream(bodyBytes), blackhole::consume);
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.client.ConditionalFetch;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.service.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cached read paths of {@link EmployeeService} against a warm snapshot, for both snapshot representations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean columnar;
+
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setup() {
+        ApiClient apiClient = new FixedApiClient(Employees.generate(size));
+        EmployeeCache employeeCache =
+                new EmployeeCache(apiClient, new SimpleMeterRegistry(), Long.MAX_VALUE, 0, columnar, false);
+        employeeService = new EmployeeService(apiClient, employeeCache, new SimpleMeterRegistry());
+        // Load the snapshot and build the lazy name index outside the measurement.
+        employeeService.getEmployeesByNameSearch("warm-up");
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> searchByName() {
+        return employeeService.getEmployeesByNameSearch("Shah 12", 0, 100);
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTenNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    /** Serves a fixed list instead of calling the upstream. */
+    private static final class FixedApiClient extends ApiClient {
+
+        private final List<EmployeeResponse> employees;
+
+        FixedApiClient(List<EmployeeResponse> employees) {
+            super(null, null, null, null, null, null, null, null);
+            this.employees = employees;
+        }
+
+        @Override
+        public ConditionalFetch streamAllEmployees(String ifNoneMatch, Consumer<EmployeeResponse> consumer) {
+            employees.forEach(consumer);
+            return new ConditionalFetch(true, null, employees.size());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Reproducible employee data shaped like the mock server's.
+ */
+final class Employees {
+
+    private static final String[] FIRST_NAMES = {
+        "Abhay", "Jane", "Sam", "Maria", "Wei", "Olu", "Priya", "Tomás", "Chloe", "Noah", "Aisha", "Liam"
+    };
+    private static final String[] LAST_NAMES = {
+        "Kumar", "Doe", "Roe", "García", "Zhang", "Adeyemi", "Shah", "Novak", "Martin", "Smith", "Khan", "Murphy"
+    };
+    private static final String[] TITLES = {
+        "Engineer", "Senior Engineer", "Manager", "Director", "Analyst", "Designer", "Consultant", "Administrator"
+    };
+
+    private Employees() {}
+
+    static List<EmployeeResponse> generate(int size) {
+        Random random = new Random(42);
+        List<EmployeeResponse> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new EmployeeResponse(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    first + " " + last + " " + i,
+                    30_000 + random.nextInt(470_000),
+                    16 + random.nextInt(60),
+                    TITLES[random.nextInt(TITLES.length)],
+                    first.toLowerCase() + "." + i + "@company.com"));
+        }
+        return employees;
+    }
+
+    /** Configured like the ObjectMapper Spring Boot gives the api, including parameter-name creators. */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+}
@@ -0,0 +1,259 @@
+package com.reliaquest.benchmarks.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.server.ServerApplication;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * End-to-end load test: boots the mock server and the api in this JVM, drives every {@code IEmployeeController} route
+ * over HTTP, and reports per-route throughput and latency percentiles from HDR histograms.
+ *
+ * <p>Run with {@code ./gradlew benchmarks:loadTest -PloadTestArgs="mode=open rate=500"}; see
+ * {@link LoadTestOptions#USAGE} for the options.
+ */
+public final class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private final LoadTestOptions options;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats(route));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestOptions.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        try (ConfigurableApplicationContext server = startServer();
+                ConfigurableApplicationContext api = startApi(port(server))) {
+            String baseUrl = "http://localhost:" + port(api) + "/api/v1/employee";
+            Workload workload = new Workload(baseUrl, objectMapper, fetchEmployees(baseUrl), options.weights());
+            logger.warn(
+                    "Load testing {} for {} after {} warm-up ({} loop).",
+                    baseUrl,
+                    options.duration(),
+                    options.warmup(),
+                    options.mode().name().toLowerCase(Locale.ROOT));
+
+            long start = System.nanoTime();
+            long measureFrom = start + options.warmup().toNanos();
+            long until = measureFrom + options.duration().toNanos();
+            Runnable resetAfterWarmUp = () -> {
+                LockSupport.parkNanos(measureFrom - System.nanoTime());
+                stats.values().forEach(RouteStats::reset);
+            };
+            Thread warmUp = new Thread(resetAfterWarmUp, "load-test-warm-up");
+            warmUp.start();
+            if (options.mode() == LoadTestOptions.Mode.CLOSED) {
+                runClosedLoop(workload, until);
+            } else {
+                runOpenLoop(workload, start, until);
+            }
+            warmUp.join();
+            report(System.nanoTime() - measureFrom);
+        }
+    }
+
+    private ConfigurableApplicationContext startServer() {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.config.name=loadtest-server",
+                "--mock.employees.max=" + options.employees(),
+                "--mock.rate-limit.enabled=" + options.rateLimit()));
+        args.addAll(options.serverProperties());
+        return new SpringApplicationBuilder(ServerApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private ConfigurableApplicationContext startApi(int serverPort) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.config.name=loadtest-api",
+                "--api.base-url=http://localhost:" + serverPort + "/api/v1/employee"));
+        args.addAll(options.apiProperties());
+        return new SpringApplicationBuilder(ApiApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private List<EmployeeResponse> fetchEmployees(String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl)).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not list employees: HTTP " + response.statusCode());
+        }
+        return Workload.parseEmployees(objectMapper, response.body());
+    }
+
+    private void runClosedLoop(Workload workload, long until) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        for (int i = 0; i < options.concurrency(); i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() - until < 0) {
+                    Route route = workload.nextRoute();
+                    HttpRequest request = workload.request(route);
+                    if (request == null) {
+                        continue;
+                    }
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                        stats.get(route).recordResponse(response.statusCode(), System.nanoTime() - sent);
+                        workload.onResponse(route, response);
+                    } catch (IOException e) {
+                        stats.get(route).recordFailure(System.nanoTime() - sent);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    private void runOpenLoop(Workload workload, long start, long until) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.ratePerSecond());
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        for (long due = start; due - until < 0; due += intervalNanos) {
+            LockSupport.parkNanos(due - System.nanoTime());
+            Route route = workload.nextRoute();
+            HttpRequest request = workload.request(route);
+            if (request == null) {
+                continue;
+            }
+            // Measured from when the request was due rather than sent, so generator lag is not hidden.
+            long scheduled = due;
+            inFlight.add(httpClient
+                    .sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        if (response != null) {
+                            stats.get(route).recordResponse(response.statusCode(), System.nanoTime() - scheduled);
+                            workload.onResponse(route, response);
+                        } else {
+                            stats.get(route).recordFailure(System.nanoTime() - scheduled);
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .exceptionally(error -> null)
+                .join();
+    }
+
+    private void report(long elapsedNanos) throws IOException {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        Files.createDirectories(options.reportDir());
+        Histogram total = new Histogram(3);
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(
+                Locale.ROOT,
+                "%s loop, %s, %d employees, rate limit %s, measured %.1f s%n%n",
+                options.mode().name().toLowerCase(Locale.ROOT),
+                options.mode() == LoadTestOptions.Mode.CLOSED
+                        ? options.concurrency() + " workers"
+                        : options.ratePerSecond() + " req/s offered",
+                options.employees(),
+                options.rateLimit() ? "on" : "off",
+                seconds));
+        summary.append(String.format(
+                Locale.ROOT,
+                "%-40s %8s %7s %9s %9s %9s %9s %9s  %s%n",
+                "Route",
+                "Requests",
+                "Errors",
+                "Req/s",
+                "p50 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "Max ms",
+                "Statuses"));
+        for (RouteStats routeStats : stats.values()) {
+            if (routeStats.count() == 0) {
+                continue;
+            }
+            Histogram latencies = routeStats.latencies().copy();
+            total.add(latencies);
+            summary.append(row(routeStats.route().path(), latencies, routeStats.errors(), seconds))
+                    .append("  ")
+                    .append(routeStats.outcomes().entrySet().stream()
+                            .map(outcome ->
+                                    (outcome.getKey() < 0 ? "failed" : outcome.getKey()) + "=" + outcome.getValue())
+                            .collect(Collectors.joining(" ")))
+                    .append(System.lineSeparator());
+            writeHistogram(routeStats.route().name(), latencies);
+        }
+        long errors = stats.values().stream().mapToLong(RouteStats::errors).sum();
+        summary.append(row("Total", total, errors, seconds)).append(System.lineSeparator());
+        writeHistogram("TOTAL", total);
+
+        Files.writeString(options.reportDir().resolve("summary.txt"), summary);
+        System.out.println();
+        System.out.print(summary);
+        System.out.println("Histograms written to " + options.reportDir().toAbsolutePath());
+    }
+
+    private static String row(String name, Histogram latencies, long errors, double seconds) {
+        return String.format(
+                Locale.ROOT,
+                "%-40s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f",
+                name,
+                latencies.getTotalCount(),
+                errors,
+                latencies.getTotalCount() / seconds,
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    // Full percentile distribution in milliseconds, loadable by the HdrHistogram plotter.
+    private void writeHistogram(String name, Histogram latencies) throws IOException {
+        try (PrintStream out =
+                new PrintStream(Files.newOutputStream(options.reportDir().resolve(name + ".hgrm")))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
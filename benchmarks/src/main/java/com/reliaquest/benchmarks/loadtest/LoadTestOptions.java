@@ -0,0 +1,138 @@
+package com.reliaquest.benchmarks.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test settings, parsed from {@code key=value} arguments. Arguments starting with {@code api.} or {@code mock.}
+ * are passed through to the api and the mock server respectively.
+ */
+record LoadTestOptions(
+        Mode mode,
+        int concurrency,
+        double ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        int employees,
+        boolean rateLimit,
+        Map<Route, Integer> weights,
+        Path reportDir,
+        List<String> apiProperties,
+        List<String> serverProperties) {
+
+    /**
+     * Closed loop: a fixed number of workers, each sending its next request once the previous one completed. Open
+     * loop: requests are started at a fixed rate whatever the response times, and latency is measured from when a
+     * request was due, so a stalled server shows up in the percentiles instead of slowing the generator down.
+     */
+    enum Mode {
+        CLOSED,
+        OPEN
+    }
+
+    static final String USAGE =
+            """
+            Options (key=value):
+              mode=closed|open       load model (default closed)
+              concurrency=16         closed loop workers
+              rate=200               open loop requests per second
+              warmup=5s              discarded warm-up period
+              duration=30s           measured period
+              employees=1000         mock dataset size
+              rate-limit=false       keep the mock server's random 429s
+              weights=SEARCH:3,...   per-route share of requests, 0 to skip a route
+              report-dir=build/reports/loadtest
+              api.*=..., mock.*=...  passed to the api / mock server
+            """;
+
+    static LoadTestOptions parse(String... args) {
+        Mode mode = Mode.CLOSED;
+        int concurrency = 16;
+        double rate = 200;
+        Duration warmup = Duration.ofSeconds(5);
+        Duration duration = Duration.ofSeconds(30);
+        int employees = 1_000;
+        boolean rateLimit = false;
+        Map<Route, Integer> weights = new EnumMap<>(Route.class);
+        for (Route route : Route.values()) {
+            weights.put(route, route.defaultWeight());
+        }
+        Path reportDir = Path.of("build", "reports", "loadtest");
+        List<String> apiProperties = new ArrayList<>();
+        List<String> serverProperties = new ArrayList<>();
+
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value but got '" + arg + "'\n" + USAGE);
+            }
+            String key = option.substring(0, separator);
+            String value = option.substring(separator + 1);
+            if (key.startsWith("api.")) {
+                apiProperties.add("--" + option);
+                continue;
+            }
+            if (key.startsWith("mock.")) {
+                serverProperties.add("--" + option);
+                continue;
+            }
+            switch (key) {
+                case "mode" -> mode = Mode.valueOf(value.toUpperCase(Locale.ROOT));
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "rate" -> rate = Double.parseDouble(value);
+                case "warmup" -> warmup = parseDuration(value);
+                case "duration" -> duration = parseDuration(value);
+                case "employees" -> employees = Integer.parseInt(value);
+                case "rate-limit" -> rateLimit = Boolean.parseBoolean(value);
+                case "report-dir" -> reportDir = Path.of(value);
+                case "weights" -> {
+                    for (String weight : value.split(",")) {
+                        String[] parts = weight.split(":");
+                        weights.put(
+                                Route.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+                                Integer.parseInt(parts[1].trim()));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown option '" + key + "'\n" + USAGE);
+            }
+        }
+        if (concurrency < 1
+                || rate <= 0
+                || duration.isZero()
+                || weights.values().stream().allMatch(w -> w <= 0)) {
+            throw new IllegalArgumentException(
+                    "concurrency, rate, duration and at least one weight must be positive\n" + USAGE);
+        }
+        return new LoadTestOptions(
+                mode,
+                concurrency,
+                rate,
+                warmup,
+                duration,
+                employees,
+                rateLimit,
+                weights,
+                reportDir,
+                apiProperties,
+                serverProperties);
+    }
+
+    // Accepts 90, 90s, 500ms or 2m.
+    private static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return Duration.ofSeconds(
+                Long.parseLong(trimmed.endsWith("s") ? trimmed.substring(0, trimmed.length() - 1) : trimmed));
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.benchmarks.loadtest;
+
+/**
+ * The {@code IEmployeeController} routes, with their default share of the generated requests.
+ */
+enum Route {
+    GET_ALL("GET /", 1),
+    SEARCH("GET /search/{searchString}", 3),
+    GET_BY_ID("GET /{id}", 3),
+    HIGHEST_SALARY("GET /highestSalary", 3),
+    TOP_TEN("GET /topTenHighestEarningEmployeeNames", 3),
+    CREATE("POST /", 1),
+    // Only deletes employees the load test created, so the dataset stays the same size.
+    DELETE("DELETE /{id}", 1);
+
+    private final String path;
+    private final int defaultWeight;
+
+    Route(String path, int defaultWeight) {
+        this.path = path;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String path() {
+        return path;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.benchmarks.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram and outcome counts for one route. Latencies are recorded in microseconds, successful or not.
+ */
+final class RouteStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Route route;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    RouteStats(Route route) {
+        this.route = route;
+    }
+
+    Route route() {
+        return route;
+    }
+
+    void recordResponse(int status, long latencyNanos) {
+        latencies.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+    }
+
+    /** A request that got no response at all, e.g. a refused connection or a timeout. */
+    void recordFailure(long latencyNanos) {
+        latencies.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        failures.increment();
+    }
+
+    void reset() {
+        latencies.reset();
+        statuses.clear();
+        failures.reset();
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        long errors = failures.sum();
+        for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+            if (entry.getKey() >= 400) {
+                errors += entry.getValue().sum();
+            }
+        }
+        return errors;
+    }
+
+    /** Responses per status code, plus {@code -1} for requests that failed without a response. */
+    Map<Integer, Long> outcomes() {
+        Map<Integer, Long> outcomes = new TreeMap<>();
+        statuses.forEach((status, count) -> outcomes.put(status, count.sum()));
+        if (failures.sum() > 0) {
+            outcomes.put(-1, failures.sum());
+        }
+        return outcomes;
+    }
+}
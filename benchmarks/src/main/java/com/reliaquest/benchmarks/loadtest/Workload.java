@@ -0,0 +1,137 @@
+package com.reliaquest.benchmarks.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.EmployeeResponse;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the next route by weight and builds its request against the employees the api served at start-up.
+ */
+final class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] TITLES = {"Engineer", "Manager", "Analyst", "Designer"};
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final List<String> ids;
+    private final List<String> searchTerms;
+    private final Route[] routes;
+    private final int[] cumulativeWeights;
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+
+    Workload(String baseUrl, ObjectMapper objectMapper, List<EmployeeResponse> employees, Map<Route, Integer> weights) {
+        if (employees.isEmpty()) {
+            throw new IllegalStateException("The api returned no employees to build requests from.");
+        }
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.ids = employees.stream().map(EmployeeResponse::getId).toList();
+        // Surnames, so that searches match a realistic handful of employees.
+        this.searchTerms = employees.stream()
+                .map(EmployeeResponse::getEmployeeName)
+                .map(name -> name.substring(name.lastIndexOf(' ') + 1))
+                .distinct()
+                .toList();
+        this.routes = weights.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .toArray(Route[]::new);
+        this.cumulativeWeights = new int[routes.length];
+        int total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            total += weights.get(routes[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    static List<EmployeeResponse> parseEmployees(ObjectMapper objectMapper, String body) {
+        try {
+            return objectMapper.readValue(body, new TypeReference<List<EmployeeResponse>>() {});
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Route nextRoute() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; ; i++) {
+            if (pick < cumulativeWeights[i]) {
+                // Nothing of ours to delete yet; create something instead.
+                return routes[i] == Route.DELETE && createdIds.isEmpty() ? Route.CREATE : routes[i];
+            }
+        }
+    }
+
+    /**
+     * Builds a request for {@code route}. A delete claims one of the employees created earlier, or returns null if
+     * another worker claimed the last one first.
+     */
+    HttpRequest request(Route route) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (route) {
+            case GET_ALL -> get("");
+            case SEARCH -> get("/search/" + encode(searchTerms.get(random.nextInt(searchTerms.size()))));
+            case GET_BY_ID -> get("/" + ids.get(random.nextInt(ids.size())));
+            case HIGHEST_SALARY -> get("/highestSalary");
+            case TOP_TEN -> get("/topTenHighestEarningEmployeeNames");
+            case CREATE -> builder("")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json(new CreateEmployeeInput(
+                            "Load Test " + random.nextInt(1_000_000),
+                            30_000 + random.nextInt(200_000),
+                            16 + random.nextInt(60),
+                            TITLES[random.nextInt(TITLES.length)]))))
+                    .build();
+            case DELETE -> {
+                String id = createdIds.poll();
+                yield id == null ? null : builder("/" + id).DELETE().build();
+            }
+        };
+    }
+
+    void onResponse(Route route, HttpResponse<String> response) {
+        if (route == Route.CREATE && response.statusCode() == 200) {
+            try {
+                createdIds.add(objectMapper
+                        .readValue(response.body(), EmployeeResponse.class)
+                        .getId());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
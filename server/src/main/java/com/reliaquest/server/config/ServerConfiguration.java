@@ -1,11 +1,17 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeSnapshot;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
@@ -25,16 +31,65 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private static final int SEED_CHUNK_SIZE = 10_000;
+    // Fixed rather than the host's default, which would select different Faker data files for the same seed.
+    private static final Locale SEED_LOCALE = Locale.US;
+
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    public enum SeedMode {
+        PARALLEL,
+        REFLECTIVE
+    }
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Seed data only; MockEmployeeService copies it into its own store and serves CRUD operations from there.
+     *
+     * The parallel mode (the default) builds employees directly, in chunks spread over the common pool, each chunk with
+     * its own en-US Faker seeded from mock.employees.seed so the same seed always yields the same dataset. The reflective
+     * mode keeps the original JavaObjectTransformer path.
+     *
+     * With mock.employees.snapshot.path set, an existing snapshot is loaded instead of seeding, and a freshly seeded
+     * dataset is written out so the next start can load it.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public List<MockEmployee> mockEmployees(
+            Faker faker,
+            MockEmployeeSnapshot snapshot,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed-mode:parallel}") SeedMode seedMode,
+            @Value("${mock.employees.seed:#{null}}") Long seed) {
+        if (snapshot.exists()) {
+            return snapshot.load();
+        }
+        final long start = System.nanoTime();
+        final long effectiveSeed =
+                seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        final var mockEmployees = seedMode == SeedMode.REFLECTIVE
+                ? reflectiveMockEmployees(faker, maxEmployees)
+                : parallelMockEmployees(maxEmployees, effectiveSeed);
+        final var heapUsed =
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        log.info(
+                "Seeded {} employees in {} ms ({} mode{}), heap used {} MB.",
+                mockEmployees.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                seedMode.name().toLowerCase(Locale.ROOT),
+                seedMode == SeedMode.PARALLEL ? ", seed " + effectiveSeed : "",
+                heapUsed / (1024 * 1024));
+        if (snapshot.isEnabled()) {
+            snapshot.write(mockEmployees);
+        }
+        return mockEmployees;
+    }
+
+    private static List<MockEmployee> reflectiveMockEmployees(Faker faker, int maxEmployees) {
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
                 Field.field("id", UUID::randomUUID),
@@ -52,8 +107,45 @@ public class ServerConfiguration implements WebMvcConfigurer {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    private static List<MockEmployee> parallelMockEmployees(int maxEmployees, long seed) {
+        final var mockEmployees = new MockEmployee[maxEmployees];
+        final int chunks = (maxEmployees + SEED_CHUNK_SIZE - 1) / SEED_CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            // Chunk boundaries don't depend on the thread count, so neither does the dataset.
+            final var random = new Random(seed + chunk);
+            final var faker = new Faker(SEED_LOCALE, random);
+            final int end = Math.min(maxEmployees, (chunk + 1) * SEED_CHUNK_SIZE);
+            for (int i = chunk * SEED_CHUNK_SIZE; i < end; i++) {
+                mockEmployees[i] = MockEmployee.builder()
+                        .id(randomUuid(random))
+                        .name(faker.name().fullName())
+                        .salary(faker.number().numberBetween(30000, 500000))
+                        .age(faker.number().numberBetween(16, 70))
+                        .title(faker.job().title())
+                        .email(EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase(SEED_LOCALE)))
+                        .build();
+            }
+        });
+        return new ArrayList<>(Arrays.asList(mockEmployees));
+    }
+
+    // Version 4 UUID drawn from the seeded generator instead of SecureRandom.
+    private static UUID randomUuid(Random random) {
+        final long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long least = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(most, least);
+    }
+
+    /*
+     * mock.rate-limit.enabled=false turns off the random 429s, e.g. for load tests that measure the api itself.
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (rateLimitEnabled) {
+            registry.addInterceptor(new RandomRequestLimitInterceptor());
+        } else {
+            log.warn("Random request rate limiting is disabled.");
+        }
     }
 }
@@ -1,15 +1,22 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,18 +24,110 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int MAX_PAGE_SIZE = 10_000;
+
     private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
 
+    /*
+     * Conditional on If-None-Match: answers 304 without a body while the dataset is unchanged.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(WebRequest request) {
+        final var etag = mockEmployeeService.getETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+    }
+
+    /*
+     * Either ?offset=&limit= or, to continue from a previous page, ?cursor=&limit=.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Response<MockEmployeePage>> getEmployeePage(
+            @RequestParam(name = "offset", defaultValue = "0") int offset,
+            @RequestParam(name = "limit", defaultValue = "1000") int limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("offset must be >= 0 and limit between 1 and " + MAX_PAGE_SIZE));
+        }
+        if (cursor == null) {
+            return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getPage(offset, limit)));
+        }
+        if (offset != 0) {
+            return ResponseEntity.badRequest().body(Response.error("offset cannot be combined with cursor"));
+        }
+        try {
+            return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getPageAfter(cursor, limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+    }
+
+    /*
+     * Newline-delimited JSON, one employee per line, written while the store is iterated. Conditional like the list.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(WebRequest request) {
+        final var etag = mockEmployeeService.getETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        final var writer = objectMapper.writerFor(MockEmployee.class);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    try (var generator = objectMapper
+                            .getFactory()
+                            .createGenerator(outputStream)
+                            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                            .setRootValueSeparator(null)) {
+                        mockEmployeeService.forEachEmployee(employee -> {
+                            try {
+                                writer.writeValue(generator, employee);
+                                generator.writeRaw('\n');
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /*
+     * Creates and deletes after ?since=, oldest first, up to ?limit= of them. since and epoch come from the list
+     * ETag (W/"<epoch>-<since>") or a previous response's latest. 410 Gone when the change log cannot bring the caller
+     * up to date, which means it has to load the full list again.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<MockEmployeeChanges>> getChanges(
+            @RequestParam(name = "since") long since,
+            @RequestParam(name = "epoch", required = false) String epoch,
+            @RequestParam(name = "limit", defaultValue = "1000") int limit) {
+        if (since < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("since must be >= 0 and limit between 1 and " + MAX_PAGE_SIZE));
+        }
+        return mockEmployeeService
+                .getChanges(epoch, since, limit)
+                .map(changes -> ResponseEntity.ok(Response.handledWith(changes)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error("Changes since " + since + " are no longer available")));
     }
 
     @GetMapping("/{id}")
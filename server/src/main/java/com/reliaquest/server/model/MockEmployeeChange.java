@@ -0,0 +1,24 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/*
+ * One write in the change log. employee is only present on CREATED.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeChange(long sequence, Type type, UUID id, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    public static MockEmployeeChange created(long sequence, MockEmployee employee) {
+        return new MockEmployeeChange(sequence, Type.CREATED, employee.getId(), employee);
+    }
+
+    public static MockEmployeeChange deleted(long sequence, UUID id) {
+        return new MockEmployeeChange(sequence, Type.DELETED, id, null);
+    }
+}
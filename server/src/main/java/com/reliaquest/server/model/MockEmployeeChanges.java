@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/*
+ * The changes after a sequence, oldest first. latest is the sequence the caller is at once it has applied them: the
+ * last change included while hasMore, otherwise the dataset version the page was read at.
+ */
+public record MockEmployeeChanges(String epoch, long latest, boolean hasMore, List<MockEmployeeChange> changes) {}
@@ -0,0 +1,11 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/*
+ * One page of employees in insertion order. nextCursor is opaque and absent on the last page; passing it back as
+ * ?cursor= continues after this page even if employees were created or deleted in between.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeePage(List<MockEmployee> employees, int total, String nextCursor) {}
@@ -4,32 +4,99 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MockEmployeeService {
 
     private final Faker faker;
+    private final MockEmployeeStore store;
+    private final MockEmployeeSnapshot snapshot;
+    /*
+     * Dataset version: bumped after every write, and qualified by a per-boot epoch because a restarted server starts
+     * from a different dataset. The version doubles as the sequence number of the write in the change log.
+     */
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong version = new AtomicLong();
+    /*
+     * The most recent writes, oldest first, with contiguous sequences ending at version. Guarded by this, like the
+     * writes themselves, so a reader sees the log and the version move together.
+     */
+    private final ArrayDeque<MockEmployeeChange> changeLog = new ArrayDeque<>();
+    private final int changeLogCapacity;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    public MockEmployeeService(
+            Faker faker,
+            List<MockEmployee> mockEmployees,
+            MockEmployeeSnapshot snapshot,
+            @Value("${mock.changes.capacity:10000}") int changeLogCapacity) {
+        this.faker = faker;
+        final long start = System.nanoTime();
+        this.store = new MockEmployeeStore(mockEmployees);
+        log.info(
+                "Indexed {} employees in {} ms.",
+                store.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        this.snapshot = snapshot;
+        this.changeLogCapacity = changeLogCapacity;
+    }
+
+    /*
+     * ETag of the current dataset, W/"<epoch>-<version>", so a client holding it can ask for the changes since. Read it
+     * before the data it describes: a write landing in between then makes the tag older than the data, which only
+     * costs the client one extra download, or replaying a change it already has.
+     *
+     * Weak, because the tag names the dataset rather than the bytes of one encoding of it, and because Tomcat does not
+     * compress a response carrying a strong ETag.
+     */
+    public String getETag() {
+        return "W/\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    public List<MockEmployee> getMockEmployees() {
+        return store.values();
+    }
+
+    public MockEmployeePage getPage(int offset, int limit) {
+        return toPage(store.slice(-1, offset, limit));
+    }
+
+    /*
+     * Continues from a cursor returned by a previous page.
+     */
+    public MockEmployeePage getPageAfter(@NonNull String cursor, int limit) {
+        final long afterSequence;
+        try {
+            afterSequence = Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return toPage(store.slice(afterSequence, 0, limit));
+    }
+
+    public void forEachEmployee(@NonNull Consumer<MockEmployee> action) {
+        store.forEach(action);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return store.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +104,65 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        // Serialised with delete so the log records writes in the order the store applied them.
+        synchronized (this) {
+            store.add(mockEmployee);
+            snapshot.appendCreated(mockEmployee);
+            recordChange(MockEmployeeChange.created(version.incrementAndGet(), mockEmployee));
+        }
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        final Optional<MockEmployee> mockEmployee;
+        synchronized (this) {
+            mockEmployee = store.removeByName(input.getName());
+            mockEmployee.ifPresent(employee -> {
+                snapshot.appendDeleted(employee.getId());
+                recordChange(MockEmployeeChange.deleted(version.incrementAndGet(), employee.getId()));
+            });
+        }
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
+
+    /*
+     * Up to limit changes after since, oldest first. Empty when the log cannot bring a client at since up to date:
+     * the epoch is from another boot, since is ahead of this dataset, or the log no longer reaches back that far.
+     */
+    public synchronized Optional<MockEmployeeChanges> getChanges(String sinceEpoch, long since, int limit) {
+        final long latest = version.get();
+        final long oldestAvailable = latest - changeLog.size();
+        if ((sinceEpoch != null && !epoch.equals(sinceEpoch)) || since > latest || since < oldestAvailable) {
+            return Optional.empty();
+        }
+        final var changes = new ArrayList<MockEmployeeChange>((int) Math.min(limit, latest - since));
+        final var iterator = changeLog.iterator();
+        for (long skip = since - oldestAvailable; skip > 0; skip--) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && changes.size() < limit) {
+            changes.add(iterator.next());
         }
+        final boolean hasMore = iterator.hasNext();
+        return Optional.of(new MockEmployeeChanges(
+                epoch, hasMore ? changes.get(changes.size() - 1).sequence() : latest, hasMore, changes));
+    }
+
+    // Called while synchronized on this, in the same block as the write.
+    private void recordChange(MockEmployeeChange change) {
+        if (changeLogCapacity <= 0) {
+            return;
+        }
+        if (changeLog.size() == changeLogCapacity) {
+            changeLog.removeFirst();
+        }
+        changeLog.addLast(change);
+    }
 
-        return false;
+    private MockEmployeePage toPage(MockEmployeeStore.Slice slice) {
+        return new MockEmployeePage(
+                slice.employees(), store.size(), slice.hasMore() ? Long.toString(slice.lastSequence()) : null);
     }
 }
@@ -0,0 +1,261 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Persists the mock dataset across restarts as a compact binary snapshot plus an append-only log of the creates and
+ * deletes made since. Both files are read through a memory-mapped FileChannel on boot; the log is then folded into a
+ * fresh snapshot and truncated. Log appends are not fsynced, and a record torn by a crash is dropped on replay.
+ *
+ * Disabled unless mock.employees.snapshot.path is set; the log lives next to the snapshot with a ".log" suffix.
+ */
+@Slf4j
+@Component
+public class MockEmployeeSnapshot {
+
+    private static final int MAGIC = 0x4D454D50; // "MEMP"
+    private static final int FORMAT_VERSION = 1;
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private FileChannel logChannel;
+
+    public MockEmployeeSnapshot(@Value("${mock.employees.snapshot.path:}") String path) {
+        this.snapshotPath = path.isBlank() ? null : Path.of(path);
+        this.logPath = path.isBlank() ? null : Path.of(path + ".log");
+    }
+
+    public boolean isEnabled() {
+        return snapshotPath != null;
+    }
+
+    public boolean exists() {
+        return isEnabled() && Files.isRegularFile(snapshotPath);
+    }
+
+    /*
+     * Reads the snapshot, replays the log onto it and compacts both into a new snapshot.
+     */
+    public synchronized List<MockEmployee> load() {
+        final long start = System.nanoTime();
+        try {
+            var employees = readSnapshot();
+            final int replayed;
+            if (Files.isRegularFile(logPath) && Files.size(logPath) > 0) {
+                final var byId = new LinkedHashMap<UUID, MockEmployee>(employees.size() * 4 / 3 + 1);
+                employees.forEach(employee -> byId.put(employee.getId(), employee));
+                replayed = replayLog(byId);
+                employees = new ArrayList<>(byId.values());
+            } else {
+                replayed = 0;
+            }
+            log.info(
+                    "Loaded {} employees from {} ({} log records) in {} ms.",
+                    employees.size(),
+                    snapshotPath,
+                    replayed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (replayed > 0) {
+                write(employees);
+            }
+            return employees;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load employee snapshot " + snapshotPath, e);
+        }
+    }
+
+    /*
+     * Atomically replaces the snapshot with the given employees and truncates the log.
+     */
+    public synchronized void write(@NonNull List<MockEmployee> employees) {
+        final long start = System.nanoTime();
+        final var temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(employees.size());
+                for (MockEmployee employee : employees) {
+                    writeEmployee(out, employee);
+                }
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            closeLog();
+            Files.deleteIfExists(logPath);
+            log.info(
+                    "Wrote {} employees to {} in {} ms.",
+                    employees.size(),
+                    snapshotPath,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write employee snapshot " + snapshotPath, e);
+        }
+    }
+
+    public void appendCreated(@NonNull MockEmployee employee) {
+        if (!isEnabled()) {
+            return;
+        }
+        final var bytes = new ByteArrayOutputStream(128);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(CREATED);
+            writeEmployee(out, employee);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        append(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    public void appendDeleted(@NonNull UUID id) {
+        if (!isEnabled()) {
+            return;
+        }
+        append(ByteBuffer.allocate(17)
+                .put(DELETED)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .flip());
+    }
+
+    private synchronized void append(ByteBuffer record) {
+        try {
+            if (logChannel == null) {
+                logChannel = FileChannel.open(
+                        logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            while (record.hasRemaining()) {
+                logChannel.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to employee log " + logPath, e);
+        }
+    }
+
+    private void closeLog() throws IOException {
+        if (logChannel != null) {
+            logChannel.close();
+            logChannel = null;
+        }
+    }
+
+    private List<MockEmployee> readSnapshot() throws IOException {
+        final var buffer = map(snapshotPath);
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            throw new IOException("Not an employee snapshot (or an unsupported version): " + snapshotPath);
+        }
+        final int count = buffer.getInt();
+        final var employees = new ArrayList<MockEmployee>(count);
+        final var scratch = new byte[256];
+        for (int i = 0; i < count; i++) {
+            employees.add(readEmployee(buffer, scratch));
+        }
+        return employees;
+    }
+
+    private int replayLog(Map<UUID, MockEmployee> byId) throws IOException {
+        final var buffer = map(logPath);
+        final var scratch = new byte[256];
+        int replayed = 0;
+        while (buffer.hasRemaining()) {
+            try {
+                final byte op = buffer.get();
+                if (op == CREATED) {
+                    final var employee = readEmployee(buffer, scratch);
+                    byId.put(employee.getId(), employee);
+                } else if (op == DELETED) {
+                    byId.remove(new UUID(buffer.getLong(), buffer.getLong()));
+                } else {
+                    throw new IOException("Corrupt employee log " + logPath + " at record " + replayed);
+                }
+                replayed++;
+            } catch (BufferUnderflowException e) {
+                log.warn("Ignoring a truncated record at the end of {}.", logPath);
+                break;
+            }
+        }
+        return replayed;
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + path);
+            }
+            // The mapping stays valid after the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static void writeEmployee(DataOutputStream out, MockEmployee employee) throws IOException {
+        out.writeLong(employee.getId().getMostSignificantBits());
+        out.writeLong(employee.getId().getLeastSignificantBits());
+        out.writeInt(employee.getSalary() == null ? NULL_INT : employee.getSalary());
+        out.writeInt(employee.getAge() == null ? NULL_INT : employee.getAge());
+        writeString(out, employee.getName());
+        writeString(out, employee.getTitle());
+        writeString(out, employee.getEmail());
+    }
+
+    private static MockEmployee readEmployee(ByteBuffer buffer, byte[] scratch) {
+        final var id = new UUID(buffer.getLong(), buffer.getLong());
+        final int salary = buffer.getInt();
+        final int age = buffer.getInt();
+        return new MockEmployee(
+                id,
+                readString(buffer, scratch),
+                salary == NULL_INT ? null : salary,
+                age == NULL_INT ? null : age,
+                readString(buffer, scratch),
+                readString(buffer, scratch));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer, byte[] scratch) {
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,271 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/*
+ * In-memory employee store. Lookups by id and by (case-insensitive) name are hash based and iteration follows
+ * insertion order. Reads never block; writes are serialised so the three indexes always agree.
+ *
+ * The name index is only touched by writes, so it is a plain map under the store's lock. Almost all names are unique,
+ * so each maps to a small ascending array of sequences rather than to a collection object of its own. Folding every
+ * name is the bulk of building the store, so the index is only built by the first delete; booting a million employees
+ * then costs the id map and a linear build of the sequence map.
+ *
+ * Offset pages are answered from an array of the employees in insertion order, built on the first offset read after a
+ * write and shared by every page until the next one, so a page costs O(limit) rather than O(offset).
+ */
+class MockEmployeeStore {
+
+    private final Map<UUID, MockEmployee> byId;
+    private final ConcurrentSkipListMap<Long, MockEmployee> bySequence;
+    // Null until the first delete. Guarded by the store's lock.
+    private Map<String, long[]> sequencesByName;
+    private long nextSequence;
+    // Null until the first offset read after a write. Written under the store's lock.
+    private volatile Positions positions;
+
+    MockEmployeeStore(@NonNull List<MockEmployee> seed) {
+        this.byId = new ConcurrentHashMap<>(seed.size() * 4 / 3 + 16);
+        for (final var employee : seed) {
+            if (employee.getId() == null || byId.putIfAbsent(employee.getId(), employee) != null) {
+                throw new IllegalArgumentException("Employee id must be present and unique: " + employee.getId());
+            }
+        }
+        // Built from a sorted map, a skip list links its levels in one pass instead of searching for every insert.
+        this.bySequence = new ConcurrentSkipListMap<>(new SeedSequences(seed));
+        this.nextSequence = seed.size();
+    }
+
+    Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(byId.get(uuid));
+    }
+
+    /*
+     * Weakly consistent copy: writes made while copying may or may not be included.
+     */
+    List<MockEmployee> values() {
+        return new ArrayList<>(bySequence.values());
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    /*
+     * Returns up to limit employees inserted after the given sequence (-1 for the start), skipping the first skip of
+     * them. The page's last sequence is the cursor for the next one.
+     */
+    Slice slice(long afterSequence, int skip, int limit) {
+        if (skip > 0) {
+            return positions().slice(afterSequence, skip, limit);
+        }
+        final var iterator = bySequence.tailMap(afterSequence, false).entrySet().iterator();
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        long lastSequence = afterSequence;
+        while (employees.size() < limit && iterator.hasNext()) {
+            final var entry = iterator.next();
+            employees.add(entry.getValue());
+            lastSequence = entry.getKey();
+        }
+        return new Slice(employees, lastSequence, iterator.hasNext());
+    }
+
+    /*
+     * Visits employees in insertion order without copying; weakly consistent like values().
+     */
+    void forEach(Consumer<MockEmployee> action) {
+        bySequence.values().forEach(action);
+    }
+
+    synchronized void add(@NonNull MockEmployee employee) {
+        if (employee.getId() == null || byId.containsKey(employee.getId())) {
+            throw new IllegalArgumentException("Employee id must be present and unique: " + employee.getId());
+        }
+        final long sequence = nextSequence++;
+        positions = null;
+        byId.put(employee.getId(), employee);
+        bySequence.put(sequence, employee);
+        if (sequencesByName != null) {
+            indexName(sequencesByName, employee, sequence);
+        }
+    }
+
+    /*
+     * Removes the oldest employee with the given name, ignoring case.
+     */
+    synchronized Optional<MockEmployee> removeByName(@NonNull String name) {
+        if (sequencesByName == null) {
+            sequencesByName = new HashMap<>(bySequence.size() * 4 / 3 + 16);
+            bySequence.forEach((sequence, employee) -> indexName(sequencesByName, employee, sequence));
+        }
+        final var folded = fold(name);
+        final var sequences = sequencesByName.get(folded);
+        if (sequences == null) {
+            return Optional.empty();
+        }
+        if (sequences.length == 1) {
+            sequencesByName.remove(folded);
+        } else {
+            sequencesByName.put(folded, Arrays.copyOfRange(sequences, 1, sequences.length));
+        }
+        final var employee = bySequence.remove(sequences[0]);
+        byId.remove(employee.getId());
+        positions = null;
+        return Optional.of(employee);
+    }
+
+    private Positions positions() {
+        var current = positions;
+        if (current == null) {
+            synchronized (this) {
+                current = positions;
+                if (current == null) {
+                    current = Positions.of(bySequence);
+                    positions = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static void indexName(Map<String, long[]> sequencesByName, MockEmployee employee, long sequence) {
+        if (employee.getName() != null) {
+            sequencesByName.merge(fold(employee.getName()), new long[] {sequence}, (current, added) -> {
+                final var appended = Arrays.copyOf(current, current.length + 1);
+                appended[current.length] = sequence;
+                return appended;
+            });
+        }
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * The seed keyed by its sequences 0..n-1, as the sorted map ConcurrentSkipListMap's bulk constructor reads: it only
+     * asks for the comparator and iterates the entries.
+     */
+    private static final class SeedSequences extends AbstractMap<Long, MockEmployee>
+            implements SortedMap<Long, MockEmployee> {
+
+        private final List<MockEmployee> seed;
+
+        SeedSequences(List<MockEmployee> seed) {
+            this.seed = seed;
+        }
+
+        @Override
+        public Set<Entry<Long, MockEmployee>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Long, MockEmployee>> iterator() {
+                    final var employees = seed.listIterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return employees.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Long, MockEmployee> next() {
+                            final long sequence = employees.nextIndex();
+                            return new SimpleImmutableEntry<>(sequence, employees.next());
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return seed.size();
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super Long> comparator() {
+            return null;
+        }
+
+        @Override
+        public SortedMap<Long, MockEmployee> subMap(Long fromKey, Long toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<Long, MockEmployee> headMap(Long toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<Long, MockEmployee> tailMap(Long fromKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Long firstKey() {
+            if (seed.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return 0L;
+        }
+
+        @Override
+        public Long lastKey() {
+            if (seed.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return (long) seed.size() - 1;
+        }
+    }
+
+    record Slice(List<MockEmployee> employees, long lastSequence, boolean hasMore) {}
+
+    /*
+     * The store's employees and their sequences, both in insertion order, as of one version of the store.
+     */
+    private record Positions(MockEmployee[] employees, long[] sequences) {
+
+        static Positions of(ConcurrentSkipListMap<Long, MockEmployee> bySequence) {
+            final int size = bySequence.size();
+            final var employees = new MockEmployee[size];
+            final var sequences = new long[size];
+            int position = 0;
+            for (final var entry : bySequence.entrySet()) {
+                employees[position] = entry.getValue();
+                sequences[position++] = entry.getKey();
+            }
+            return new Positions(employees, sequences);
+        }
+
+        Slice slice(long afterSequence, int skip, int limit) {
+            // Sequences are ascending and distinct, so a miss encodes the first position after afterSequence.
+            final int found = Arrays.binarySearch(sequences, afterSequence);
+            final int first = (int) Math.min((long) (found >= 0 ? found + 1 : -found - 1) + skip, employees.length);
+            final int end = (int) Math.min((long) first + limit, employees.length);
+            return new Slice(
+                    Arrays.asList(Arrays.copyOfRange(employees, first, end)),
+                    end > first ? sequences[end - 1] : afterSequence,
+                    end < employees.length);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.server.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.config.ServerConfiguration.SeedMode;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeSnapshot;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ServerConfigurationTest {
+
+    private final Locale defaultLocale = Locale.getDefault();
+
+    @AfterEach
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void testMockEmployees_sameSeedYieldsSameDatasetWhateverTheHostLocale() {
+        Locale.setDefault(Locale.US);
+        final var us = seed();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        final var turkish = seed();
+        Locale.setDefault(Locale.JAPAN);
+        final var japanese = seed();
+
+        assertThat(turkish).isEqualTo(us);
+        assertThat(japanese).isEqualTo(us);
+    }
+
+    private static List<MockEmployee> seed() {
+        final var configuration = new ServerConfiguration();
+        return configuration.mockEmployees(
+                configuration.faker(), new MockEmployeeSnapshot(""), 200, SeedMode.PARALLEL, 42L);
+    }
+}
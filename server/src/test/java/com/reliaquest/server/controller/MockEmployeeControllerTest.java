@@ -0,0 +1,81 @@
+package com.reliaquest.server.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"mock.rate-limit.enabled=false", "mock.employees.max=200"})
+public class MockEmployeeControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    public void testGetEmployees_compressesTaggedList() throws Exception {
+        final var response = getGzip("/api/v1/employee");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(response.headers().firstValue("ETag"))
+                .hasValueSatisfying(etag -> assertThat(etag).matches("W/\"[^\"]+-\\d+\""));
+        assertThat(gunzip(response.body())).startsWith("{").contains("employee_name");
+    }
+
+    @Test
+    public void testStreamEmployees_compressesTaggedStream() throws Exception {
+        final var response = getGzip("/api/v1/employee/stream");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(response.headers().firstValue("ETag"))
+                .hasValueSatisfying(etag -> assertThat(etag).startsWith("W/\""));
+        assertThat(gunzip(response.body()).lines()).hasSize(200);
+    }
+
+    @Test
+    public void testGetEmployees_notModifiedForCurrentTag() throws Exception {
+        final var etag =
+                getGzip("/api/v1/employee").headers().firstValue("ETag").orElseThrow();
+
+        final var response = httpClient.send(
+                HttpRequest.newBuilder(uri("/api/v1/employee"))
+                        .header("If-None-Match", etag)
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(304);
+        assertThat(response.headers().firstValue("ETag")).hasValue(etag);
+    }
+
+    private HttpResponse<byte[]> getGzip(String path) throws IOException, InterruptedException {
+        return httpClient.send(
+                HttpRequest.newBuilder(uri(path))
+                        .header("Accept-Encoding", "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MockEmployeeSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private Path logPath;
+    private MockEmployeeSnapshot snapshot;
+
+    @BeforeEach
+    public void setup() {
+        path = directory.resolve("employees.bin");
+        logPath = directory.resolve("employees.bin.log");
+        snapshot = new MockEmployeeSnapshot(path.toString());
+    }
+
+    @Test
+    public void testLoad_returnsWhatWasWritten() {
+        final var complete = employee("Zoë Ångström", 120_000, 41, "Engineer", "zoe@company.com");
+        final var sparse = new MockEmployee(UUID.randomUUID(), null, null, null, null, null);
+        final var empty = employee("", 0, 0, "", "");
+
+        snapshot.write(List.of(complete, sparse, empty));
+
+        assertThat(snapshot.exists()).isTrue();
+        assertThat(new MockEmployeeSnapshot(path.toString()).load()).containsExactly(complete, sparse, empty);
+    }
+
+    @Test
+    public void testLoad_replaysCreatesAndDeletes() {
+        final var kept = employee("Jane Doe", 60_000, 30, "Manager", "jane@company.com");
+        final var deleted = employee("Sam Roe", 50_000, 40, "Analyst", "sam@company.com");
+        final var created = employee("Abhay K", 70_000, 35, "Engineer", null);
+        final var createdThenDeleted = employee("Lee Poe", 40_000, 25, "Designer", "lee@company.com");
+        snapshot.write(List.of(kept, deleted));
+
+        snapshot.appendCreated(created);
+        snapshot.appendDeleted(deleted.getId());
+        snapshot.appendCreated(createdThenDeleted);
+        snapshot.appendDeleted(createdThenDeleted.getId());
+
+        assertThat(snapshot.load()).containsExactly(kept, created);
+        // The replayed log was compacted into the snapshot.
+        assertThat(logPath).doesNotExist();
+        assertThat(new MockEmployeeSnapshot(path.toString()).load()).containsExactly(kept, created);
+    }
+
+    @Test
+    public void testLoad_dropsRecordTruncatedMidWrite() throws IOException {
+        final var kept = employee("Jane Doe", 60_000, 30, "Manager", "jane@company.com");
+        final var created = employee("Abhay K", 70_000, 35, "Engineer", "abhay@company.com");
+        final var torn = employee("Sam Roe", 50_000, 40, "Analyst", "sam@company.com");
+        snapshot.write(List.of(kept));
+        snapshot.appendCreated(created);
+        snapshot.appendCreated(torn);
+
+        try (var channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 7);
+        }
+
+        assertThat(new MockEmployeeSnapshot(path.toString()).load()).containsExactly(kept, created);
+    }
+
+    @Test
+    public void testLoad_rejectsBadHeader() throws IOException {
+        Files.write(path, new byte[] {'n', 'o', 't', ' ', 'a', ' ', 's', 'n', 'a', 'p', 's', 'h', 'o', 't'});
+
+        assertThatThrownBy(snapshot::load)
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Not an employee snapshot (or an unsupported version): " + path);
+    }
+
+    @Test
+    public void testLoad_rejectsUnsupportedVersion() throws IOException {
+        snapshot.write(List.of(employee("Jane Doe", 60_000, 30, "Manager", "jane@company.com")));
+        try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(2).flip(), 4);
+        }
+
+        assertThatThrownBy(snapshot::load)
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Not an employee snapshot (or an unsupported version): " + path);
+    }
+
+    @Test
+    public void testAppend_isNoOpWhenDisabled() {
+        final var disabled = new MockEmployeeSnapshot("");
+
+        disabled.appendCreated(employee("Jane Doe", 60_000, 30, "Manager", "jane@company.com"));
+        disabled.appendDeleted(UUID.randomUUID());
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.exists()).isFalse();
+    }
+
+    private static MockEmployee employee(String name, Integer salary, Integer age, String title, String email) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, age, title, email);
+    }
+}
@@ -0,0 +1,201 @@
+package com.reliaquest.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeStoreTest {
+
+    @Test
+    public void testRemoveByName_ignoresCase() {
+        final var jane = employee("Jane Doe");
+        final var store = new MockEmployeeStore(List.of(jane));
+
+        assertThat(store.removeByName("JANE doe")).contains(jane);
+        assertThat(store.removeByName("jane doe")).isEmpty();
+        assertThat(store.findById(jane.getId())).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    public void testRemoveByName_removesOldestDuplicateFirst() {
+        final var first = employee("Jane Doe");
+        final var second = employee("jane doe");
+        final var third = employee("JANE DOE");
+        final var sam = employee("Sam Roe");
+        final var store = new MockEmployeeStore(List.of(first, sam, second, third));
+
+        assertThat(store.removeByName("Jane Doe")).contains(first);
+        assertThat(store.removeByName("Jane Doe")).contains(second);
+        assertThat(store.values()).containsExactly(sam, third);
+        assertThat(store.removeByName("Jane Doe")).contains(third);
+        assertThat(store.removeByName("Jane Doe")).isEmpty();
+        assertThat(store.values()).containsExactly(sam);
+    }
+
+    @Test
+    public void testRemoveByName_indexesSeedAndWritesAroundFirstDelete() {
+        final var seeded = employee("Jane Doe");
+        final var sam = employee("Sam Roe");
+        final var addedBefore = employee("jane doe");
+        final var addedAfter = employee("JANE DOE");
+        final var store = new MockEmployeeStore(List.of(seeded, sam));
+        store.add(addedBefore);
+
+        assertThat(store.removeByName("Sam Roe")).contains(sam);
+        store.add(addedAfter);
+
+        assertThat(store.removeByName("Jane Doe")).contains(seeded);
+        assertThat(store.removeByName("Jane Doe")).contains(addedBefore);
+        assertThat(store.removeByName("Jane Doe")).contains(addedAfter);
+        assertThat(store.size()).isZero();
+        assertThat(store.slice(-1, 0, 10).lastSequence()).isEqualTo(-1);
+    }
+
+    @Test
+    public void testNew_rejectsDuplicateSeedIds() {
+        final var jane = employee("Jane Doe");
+
+        assertThatThrownBy(() -> new MockEmployeeStore(
+                        List.of(jane, jane.toBuilder().name("Sam Roe").build())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testAdd_rejectsMissingOrDuplicateId() {
+        final var jane = employee("Jane Doe");
+        final var store = new MockEmployeeStore(List.of(jane));
+
+        assertThatThrownBy(() -> store.add(jane.toBuilder().name("Sam Roe").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.add(new MockEmployee(null, "Sam Roe", 1, 20, "Analyst", "sam@company.com")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(store.values()).containsExactly(jane);
+    }
+
+    @Test
+    public void testAddAndRemove_concurrentlyKeepIndexesConsistent() throws Exception {
+        final int threads = 8;
+        final int perThread = 2_000;
+        final var store = new MockEmployeeStore(List.of());
+        final var kept = new ConcurrentLinkedQueue<MockEmployee>();
+        final var start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        // Every thread shares the same handful of names, so removals race on the same name entry.
+                        final var employee = employee("Name " + (i % 16));
+                        store.add(employee);
+                        if (i % 2 == 1) {
+                            assertThat(store.removeByName("NAME " + (i % 16))).isPresent();
+                        }
+                        if (thread == 0 && i % 100 == 0) {
+                            store.slice(-1, store.size() / 2, 10);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var remaining = store.values();
+        assertThat(remaining).hasSize(threads * perThread / 2);
+        assertThat(store.size()).isEqualTo(remaining.size());
+        remaining.forEach(
+                employee -> assertThat(store.findById(employee.getId())).contains(employee));
+        assertThat(store.slice(-1, 0, Integer.MAX_VALUE).employees()).isEqualTo(remaining);
+        assertThat(store.slice(-1, 1, Integer.MAX_VALUE).employees()).isEqualTo(remaining.subList(1, remaining.size()));
+
+        // Draining by name must return exactly the employees still indexed by id, oldest first per name.
+        for (final var employee : remaining) {
+            kept.add(store.removeByName(employee.getName()).orElseThrow());
+        }
+        assertThat(kept).containsExactlyInAnyOrderElementsOf(remaining);
+        assertThat(store.size()).isZero();
+        assertThat(store.values()).isEmpty();
+    }
+
+    @Test
+    public void testSlice_offsetPages() {
+        final var employees = employees(10);
+        final var store = new MockEmployeeStore(employees);
+
+        final var page = store.slice(-1, 3, 4);
+        assertThat(page.employees()).isEqualTo(employees.subList(3, 7));
+        assertThat(page.lastSequence()).isEqualTo(6);
+        assertThat(page.hasMore()).isTrue();
+
+        final var afterCursor = store.slice(page.lastSequence(), 2, 10);
+        assertThat(afterCursor.employees()).isEqualTo(employees.subList(9, 10));
+        assertThat(afterCursor.lastSequence()).isEqualTo(9);
+        assertThat(afterCursor.hasMore()).isFalse();
+
+        final var pastEnd = store.slice(-1, 20, 5);
+        assertThat(pastEnd.employees()).isEmpty();
+        assertThat(pastEnd.lastSequence()).isEqualTo(-1);
+        assertThat(pastEnd.hasMore()).isFalse();
+    }
+
+    @Test
+    public void testSlice_offsetPagesFollowWrites() {
+        final var employees = employees(5);
+        final var store = new MockEmployeeStore(employees);
+        assertThat(store.slice(-1, 1, 10).employees()).isEqualTo(employees.subList(1, 5));
+
+        store.removeByName(employees.get(2).getName());
+        final var added = employee("Added");
+        store.add(added);
+
+        assertThat(store.slice(-1, 1, 10).employees())
+                .containsExactly(employees.get(1), employees.get(3), employees.get(4), added);
+        // Removed sequences leave gaps, which a cursor inside the gap still resolves.
+        assertThat(store.slice(2, 1, 10).employees()).containsExactly(employees.get(4), added);
+    }
+
+    @Test
+    public void testSlice_cursorPages() {
+        final var employees = employees(5);
+        final var store = new MockEmployeeStore(employees);
+
+        final var first = store.slice(-1, 0, 2);
+        assertThat(first.employees()).isEqualTo(employees.subList(0, 2));
+        assertThat(first.hasMore()).isTrue();
+
+        final var last = store.slice(first.lastSequence(), 0, 10);
+        assertThat(last.employees()).isEqualTo(employees.subList(2, 5));
+        assertThat(last.lastSequence()).isEqualTo(4);
+        assertThat(last.hasMore()).isFalse();
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> employee("Employee " + i))
+                .toList();
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 50_000, 30, "Engineer", null);
+    }
+}